@@ -6,6 +6,7 @@ import com.dooji.electricity.client.render.obj.ObjModel;
 import com.dooji.electricity.client.wire.InsulatorLookup;
 import com.dooji.electricity.client.wire.WireManagerClient;
 import com.dooji.electricity.main.Electricity;
+import com.dooji.electricity.main.power.PowerNetwork;
 import com.dooji.electricity.main.registry.ObjBlockDefinition;
 import com.dooji.electricity.main.registry.ObjDefinitions;
 import com.dooji.electricity.wire.InsulatorIdRegistry;
@@ -19,6 +20,8 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -30,13 +33,13 @@ import org.joml.Vector3f;
 public class ElectricCabinBlockEntity extends BlockEntity {
 	private Vec3[] wirePositions;
 	private int[] insulatorIds;
+	private boolean chunkUnloading = false;
 
 	private double currentPower = 0.0;
 
 	public ElectricCabinBlockEntity(BlockPos pos, BlockState state) {
 		super(getBlockEntityType(), pos, state);
 		ensureArraySizes();
-		generateInsulatorIds();
 		updateWirePositions();
 	}
 
@@ -84,15 +87,7 @@ public class ElectricCabinBlockEntity extends BlockEntity {
 
 	private void generateInsulatorIds() {
 		ensureArraySizes();
-		for (int i = 0; i < insulatorIds.length; i++) {
-			if (insulatorIds[i] == 0) {
-				insulatorIds[i] = InsulatorIdRegistry.claimId();
-			}
-		}
-	}
-
-	public static void removeInsulatorIds(int[] ids) {
-		InsulatorIdRegistry.releaseIds(ids);
+		InsulatorIdRegistry.assignIds(this, insulatorIds);
 	}
 
 	public Vec3 getWirePosition(int index) {
@@ -188,6 +183,7 @@ public class ElectricCabinBlockEntity extends BlockEntity {
 	public void load(@Nonnull CompoundTag tag) {
 		super.load(tag);
 		ensureArraySizes();
+		int[] previousIds = insulatorIds.clone();
 
 		if (tag.contains("wirePositions", Tag.TAG_LIST)) {
 			ListTag wirePositionsList = tag.getList("wirePositions", Tag.TAG_COMPOUND);
@@ -203,7 +199,6 @@ public class ElectricCabinBlockEntity extends BlockEntity {
 			ListTag insulatorIdsList = tag.getList("insulatorIds", Tag.TAG_INT);
 			for (int i = 0; i < Math.min(insulatorIdsList.size(), insulatorIds.length); i++) {
 				insulatorIds[i] = insulatorIdsList.getInt(i);
-				InsulatorIdRegistry.registerExistingId(insulatorIds[i]);
 			}
 		} else {
 			generateInsulatorIds();
@@ -214,6 +209,10 @@ public class ElectricCabinBlockEntity extends BlockEntity {
 		}
 
 		updateWirePositions();
+
+		if (level instanceof ServerLevel) {
+			InsulatorIdRegistry.reassignIds(this, previousIds, insulatorIds);
+		}
 	}
 
 	@Override
@@ -261,10 +260,23 @@ public class ElectricCabinBlockEntity extends BlockEntity {
 		return ClientboundBlockEntityDataPacket.create(this);
 	}
 
+	@Override
+	public void setLevel(@Nonnull Level level) {
+		super.setLevel(level);
+		generateInsulatorIds();
+	}
+
+	@Override
+	public void onChunkUnloaded() {
+		super.onChunkUnloaded();
+		chunkUnloading = true;
+	}
+
 	@Override
 	public void onLoad() {
 		super.onLoad();
 		updateWirePositions();
+		PowerNetwork.blockEntityLoaded(this);
 		if (level != null && level.isClientSide()) {
 			DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
 				TrackedBlockEntities.track(this);
@@ -277,7 +289,10 @@ public class ElectricCabinBlockEntity extends BlockEntity {
 	@Override
 	public void setRemoved() {
 		super.setRemoved();
-		InsulatorIdRegistry.releaseIds(this.getInsulatorIds());
+		if (!chunkUnloading) {
+			InsulatorIdRegistry.releaseIds(this, insulatorIds);
+		}
+		PowerNetwork.blockEntityUnloaded(this);
 		if (level != null && level.isClientSide()) {
 			DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
 				TrackedBlockEntities.untrack(this);
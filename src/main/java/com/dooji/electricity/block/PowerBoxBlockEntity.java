@@ -10,6 +10,7 @@ import com.dooji.electricity.client.wire.InsulatorLookup;
 import com.dooji.electricity.client.wire.WireManagerClient;
 import com.dooji.electricity.main.Electricity;
 import com.dooji.electricity.main.ElectricityServerConfig;
+import com.dooji.electricity.main.power.PowerNetwork;
 import com.dooji.electricity.main.registry.ObjBlockDefinition;
 import com.dooji.electricity.main.registry.ObjDefinitions;
 import com.dooji.electricity.wire.InsulatorIdRegistry;
@@ -30,6 +31,8 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
@@ -49,8 +52,13 @@ import org.joml.Vector3f;
 public class PowerBoxBlockEntity extends BlockEntity {
 	private Vec3[] wirePositions;
 	private int[] insulatorIds;
+	private boolean chunkUnloading = false;
 
 	private double currentPower = 0.0;
+	private double suppliedPower = 0.0;
+	private double targetPower = 0.0;
+	private double rampStep = 0.0;
+	private int rampTicksRemaining = 0;
 	private static final double POWER_THRESHOLD = 0.1;
 	private static final String[] POWER_PROPERTY_NAMES = {"powered", "lit"};
 	private PowerDeliveryEvent incomingEvent = PowerDeliveryEvent.none();
@@ -68,7 +76,6 @@ public class PowerBoxBlockEntity extends BlockEntity {
 	public PowerBoxBlockEntity(BlockPos pos, BlockState state) {
 		super(getBlockEntityType(), pos, state);
 		ensureArraySizes();
-		generateInsulatorIds();
 		updateWirePositions();
 	}
 
@@ -116,15 +123,7 @@ public class PowerBoxBlockEntity extends BlockEntity {
 
 	private void generateInsulatorIds() {
 		ensureArraySizes();
-		for (int i = 0; i < insulatorIds.length; i++) {
-			if (insulatorIds[i] == 0) {
-				insulatorIds[i] = InsulatorIdRegistry.claimId();
-			}
-		}
-	}
-
-	public static void removeInsulatorIds(int[] ids) {
-		InsulatorIdRegistry.releaseIds(ids);
+		InsulatorIdRegistry.assignIds(this, insulatorIds);
 	}
 
 	public Vec3 getWirePosition(int index) {
@@ -168,6 +167,20 @@ public class PowerBoxBlockEntity extends BlockEntity {
 
 	public void setCurrentPower(double power) {
 		this.currentPower = power;
+		this.suppliedPower = power;
+		this.targetPower = power;
+		this.rampTicksRemaining = 0;
+	}
+
+	public void setSuppliedPower(double power, int rampTicks) {
+		if (rampTicks <= 1) {
+			setCurrentPower(power);
+			return;
+		}
+
+		targetPower = power;
+		rampStep = (power - suppliedPower) / rampTicks;
+		rampTicksRemaining = rampTicks;
 	}
 
 	public Vec3 calculateOrientedInsulatorCenter(int index) {
@@ -219,6 +232,13 @@ public class PowerBoxBlockEntity extends BlockEntity {
 
 		if (level == null || level.isClientSide()) return;
 
+		if (rampTicksRemaining > 0) {
+			rampTicksRemaining--;
+			suppliedPower = rampTicksRemaining == 0 ? targetPower : suppliedPower + rampStep;
+		}
+
+		currentPower = suppliedPower;
+
 		if (breakerCooldown > 0) {
 			breakerCooldown--;
 			if (breakerCooldown == 0) breakerTripped = false;
@@ -236,7 +256,15 @@ public class PowerBoxBlockEntity extends BlockEntity {
 			refreshPowerField();
 		}
 
-		incomingEvent = PowerDeliveryEvent.none();
+		incomingEvent = advanceEvent(incomingEvent);
+	}
+
+	// The network only sets the event when a solve changes it, so hold it
+	// between solves and count its duration down here, one tick at a time.
+	private static PowerDeliveryEvent advanceEvent(PowerDeliveryEvent event) {
+		if (event.surgeDuration() <= 1) return PowerDeliveryEvent.none();
+
+		return new PowerDeliveryEvent(event.surgeSeverity(), event.surgeDuration() - 1, event.disconnectActive(), event.brownoutFactor());
 	}
 
 	private void updateWirePositions() {
@@ -432,6 +460,7 @@ public class PowerBoxBlockEntity extends BlockEntity {
 	public void load(@Nonnull CompoundTag tag) {
 		super.load(tag);
 		ensureArraySizes();
+		int[] previousIds = insulatorIds.clone();
 
 		if (tag.contains("wirePositions", Tag.TAG_LIST)) {
 			ListTag wirePositionsList = tag.getList("wirePositions", Tag.TAG_COMPOUND);
@@ -447,7 +476,6 @@ public class PowerBoxBlockEntity extends BlockEntity {
 			ListTag insulatorIdsList = tag.getList("insulatorIds", Tag.TAG_INT);
 			for (int i = 0; i < Math.min(insulatorIdsList.size(), insulatorIds.length); i++) {
 				insulatorIds[i] = insulatorIdsList.getInt(i);
-				InsulatorIdRegistry.registerExistingId(insulatorIds[i]);
 			}
 		} else {
 			generateInsulatorIds();
@@ -455,6 +483,8 @@ public class PowerBoxBlockEntity extends BlockEntity {
 
 		if (tag.contains("currentPower")) {
 			currentPower = tag.getDouble("currentPower");
+			suppliedPower = currentPower;
+			targetPower = currentPower;
 		}
 
 		if (tag.contains("feBuffer")) {
@@ -462,6 +492,10 @@ public class PowerBoxBlockEntity extends BlockEntity {
 		}
 
 		updateWirePositions();
+
+		if (level instanceof ServerLevel) {
+			InsulatorIdRegistry.reassignIds(this, previousIds, insulatorIds);
+		}
 	}
 
 	@Override
@@ -525,10 +559,23 @@ public class PowerBoxBlockEntity extends BlockEntity {
 		energy.invalidate();
 	}
 
+	@Override
+	public void setLevel(@Nonnull Level level) {
+		super.setLevel(level);
+		generateInsulatorIds();
+	}
+
+	@Override
+	public void onChunkUnloaded() {
+		super.onChunkUnloaded();
+		chunkUnloading = true;
+	}
+
 	@Override
 	public void onLoad() {
 		super.onLoad();
 		updateWirePositions();
+		PowerNetwork.blockEntityLoaded(this);
 		if (level != null && level.isClientSide()) {
 			DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
 				TrackedBlockEntities.track(this);
@@ -622,7 +669,10 @@ public class PowerBoxBlockEntity extends BlockEntity {
 	@Override
 	public void setRemoved() {
 		super.setRemoved();
-		InsulatorIdRegistry.releaseIds(this.getInsulatorIds());
+		if (!chunkUnloading) {
+			InsulatorIdRegistry.releaseIds(this, insulatorIds);
+		}
+		PowerNetwork.blockEntityUnloaded(this);
 		if (powerFieldActive && level != null && !level.isClientSide()) {
 			deactivatePowerField();
 		}
@@ -6,6 +6,7 @@ import com.dooji.electricity.client.render.obj.ObjModel;
 import com.dooji.electricity.client.wire.InsulatorLookup;
 import com.dooji.electricity.client.wire.WireManagerClient;
 import com.dooji.electricity.main.Electricity;
+import com.dooji.electricity.main.power.PowerNetwork;
 import com.dooji.electricity.main.registry.ObjBlockDefinition;
 import com.dooji.electricity.main.registry.ObjDefinitions;
 import com.dooji.electricity.wire.InsulatorIdRegistry;
@@ -20,6 +21,8 @@ import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -31,6 +34,7 @@ import org.joml.Vector3f;
 public class UtilityPoleBlockEntity extends BlockEntity {
 	private Vec3[] wirePositions;
 	private int[] insulatorIds;
+	private boolean chunkUnloading = false;
 	private float offsetX = 0.0f;
 	private float offsetY = 0.0f;
 	private float offsetZ = 0.0f;
@@ -43,7 +47,6 @@ public class UtilityPoleBlockEntity extends BlockEntity {
 		super(getBlockEntityType(), pos, state);
 		ensureArraySizes();
 		initializeWirePositions();
-		generateInsulatorIds();
 	}
 
 	private static BlockEntityType<UtilityPoleBlockEntity> getBlockEntityType() {
@@ -287,6 +290,7 @@ public class UtilityPoleBlockEntity extends BlockEntity {
 	public void load(@Nonnull CompoundTag tag) {
 		super.load(tag);
 		ensureArraySizes();
+		int[] previousIds = insulatorIds.clone();
 
 		offsetX = tag.getFloat("offsetX");
 		offsetY = tag.getFloat("offsetY");
@@ -299,13 +303,16 @@ public class UtilityPoleBlockEntity extends BlockEntity {
 			ListTag insulatorIdsList = tag.getList("insulatorIds", Tag.TAG_INT);
 			for (int i = 0; i < Math.min(insulatorIdsList.size(), insulatorIds.length); i++) {
 				insulatorIds[i] = insulatorIdsList.getInt(i);
-				InsulatorIdRegistry.registerExistingId(insulatorIds[i]);
 			}
 		} else {
 			generateInsulatorIds();
 		}
 
 		updateWirePositions();
+
+		if (level instanceof ServerLevel) {
+			InsulatorIdRegistry.reassignIds(this, previousIds, insulatorIds);
+		}
 	}
 
 	@Override
@@ -342,7 +349,6 @@ public class UtilityPoleBlockEntity extends BlockEntity {
 			ListTag insulatorIdsList = tag.getList("insulatorIds", Tag.TAG_INT);
 			for (int i = 0; i < Math.min(insulatorIdsList.size(), insulatorIds.length); i++) {
 				insulatorIds[i] = insulatorIdsList.getInt(i);
-				InsulatorIdRegistry.registerExistingId(insulatorIds[i]);
 			}
 		}
 
@@ -365,11 +371,7 @@ public class UtilityPoleBlockEntity extends BlockEntity {
 
 	private void generateInsulatorIds() {
 		ensureArraySizes();
-		for (int i = 0; i < insulatorIds.length; i++) {
-			if (insulatorIds[i] == 0) {
-				insulatorIds[i] = InsulatorIdRegistry.claimId();
-			}
-		}
+		InsulatorIdRegistry.assignIds(this, insulatorIds);
 	}
 
 	public int getInsulatorId(int index) {
@@ -382,13 +384,22 @@ public class UtilityPoleBlockEntity extends BlockEntity {
 		return insulatorIds.clone();
 	}
 
-	public static void removeInsulatorIds(int[] ids) {
-		InsulatorIdRegistry.releaseIds(ids);
+	@Override
+	public void setLevel(@Nonnull Level level) {
+		super.setLevel(level);
+		generateInsulatorIds();
+	}
+
+	@Override
+	public void onChunkUnloaded() {
+		super.onChunkUnloaded();
+		chunkUnloading = true;
 	}
 
 	@Override
 	public void onLoad() {
 		super.onLoad();
+		PowerNetwork.blockEntityLoaded(this);
 		if (level != null && level.isClientSide()) {
 			DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
 				TrackedBlockEntities.track(this);
@@ -401,7 +412,10 @@ public class UtilityPoleBlockEntity extends BlockEntity {
 	@Override
 	public void setRemoved() {
 		super.setRemoved();
-		InsulatorIdRegistry.releaseIds(this.getInsulatorIds());
+		if (!chunkUnloading) {
+			InsulatorIdRegistry.releaseIds(this, insulatorIds);
+		}
+		PowerNetwork.blockEntityUnloaded(this);
 		if (level != null && level.isClientSide()) {
 			DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
 				TrackedBlockEntities.untrack(this);
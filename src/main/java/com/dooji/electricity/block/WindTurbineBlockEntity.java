@@ -5,9 +5,10 @@ import com.dooji.electricity.client.render.obj.ObjBoundingBoxRegistry;
 import com.dooji.electricity.client.wire.InsulatorLookup;
 import com.dooji.electricity.client.wire.WireManagerClient;
 import com.dooji.electricity.main.Electricity;
+import com.dooji.electricity.main.power.PowerNetwork;
 import com.dooji.electricity.main.registry.ObjBlockDefinition;
 import com.dooji.electricity.main.registry.ObjDefinitions;
-import com.dooji.electricity.main.weather.GlobalWeatherManager;
+import com.dooji.electricity.main.weather.WeatherSampler;
 import com.dooji.electricity.main.weather.WeatherSnapshot;
 import com.dooji.electricity.wire.InsulatorIdRegistry;
 import javax.annotation.Nonnull;
@@ -21,6 +22,7 @@ import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
@@ -33,6 +35,8 @@ import org.joml.Vector3f;
 public class WindTurbineBlockEntity extends BlockEntity {
 	private Vec3[] wirePositions;
 	private int[] insulatorIds;
+	private boolean chunkUnloading = false;
+	private final WeatherSampler weatherSampler;
 
 	private float rotationSpeed1 = 0.0f;
 	private float rotationSpeed2 = 0.0f;
@@ -59,9 +63,13 @@ public class WindTurbineBlockEntity extends BlockEntity {
 
 	public WindTurbineBlockEntity(BlockPos pos, BlockState state) {
 		super(getBlockEntityType(), pos, state);
+		this.weatherSampler = new WeatherSampler(pos);
 		ensureArraySizes();
 		initializeWirePositions();
-		generateInsulatorIds();
+	}
+
+	public WeatherSnapshot sampleWeather(ServerLevel serverLevel) {
+		return weatherSampler.sample(serverLevel);
 	}
 
 	private static BlockEntityType<WindTurbineBlockEntity> getBlockEntityType() {
@@ -113,13 +121,7 @@ public class WindTurbineBlockEntity extends BlockEntity {
 
 	private void generateInsulatorIds() {
 		ensureArraySizes();
-		for (int i = 0; i < insulatorIds.length; i++) {
-			insulatorIds[i] = InsulatorIdRegistry.claimId();
-		}
-	}
-
-	public static void removeInsulatorIds(int[] ids) {
-		InsulatorIdRegistry.releaseIds(ids);
+		InsulatorIdRegistry.assignIds(this, insulatorIds);
 	}
 
 	public Vec3 getWirePosition(int index) {
@@ -241,7 +243,7 @@ public class WindTurbineBlockEntity extends BlockEntity {
 			return;
 		}
 
-		WeatherSnapshot weather = GlobalWeatherManager.get((ServerLevel) level).sample(worldPosition);
+		WeatherSnapshot weather = sampleWeather((ServerLevel) level);
 		float sustained = (float) weather.windSpeed();
 		float gust = (float) weather.gustSpeed();
 		float blend = Mth.clamp((float) weather.turbulence(), 0.0f, 1.0f);
@@ -270,6 +272,7 @@ public class WindTurbineBlockEntity extends BlockEntity {
 	public void load(@Nonnull CompoundTag tag) {
 		super.load(tag);
 		ensureArraySizes();
+		int[] previousIds = insulatorIds.clone();
 
 		if (tag.contains("wirePositions")) {
 			ListTag positionsList = tag.getList("wirePositions", 10);
@@ -283,7 +286,6 @@ public class WindTurbineBlockEntity extends BlockEntity {
 			ListTag insulatorIdsList = tag.getList("insulatorIds", 3);
 			for (int i = 0; i < Math.min(insulatorIdsList.size(), insulatorIds.length); i++) {
 				insulatorIds[i] = insulatorIdsList.getInt(i);
-				InsulatorIdRegistry.registerExistingId(insulatorIds[i]);
 			}
 		}
 
@@ -301,6 +303,10 @@ public class WindTurbineBlockEntity extends BlockEntity {
 		turbulence = tag.contains("turbulence") ? tag.getDouble("turbulence") : 0.0;
 
 		updateWirePositions();
+
+		if (level instanceof ServerLevel) {
+			InsulatorIdRegistry.reassignIds(this, previousIds, insulatorIds);
+		}
 	}
 
 	private void updateWirePositions() {
@@ -365,9 +371,22 @@ public class WindTurbineBlockEntity extends BlockEntity {
 		return ClientboundBlockEntityDataPacket.create(this);
 	}
 
+	@Override
+	public void setLevel(@Nonnull Level level) {
+		super.setLevel(level);
+		generateInsulatorIds();
+	}
+
+	@Override
+	public void onChunkUnloaded() {
+		super.onChunkUnloaded();
+		chunkUnloading = true;
+	}
+
 	@Override
 	public void onLoad() {
 		super.onLoad();
+		PowerNetwork.blockEntityLoaded(this);
 		if (level != null && level.isClientSide()) {
 			DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
 				TrackedBlockEntities.track(this);
@@ -380,7 +399,10 @@ public class WindTurbineBlockEntity extends BlockEntity {
 	@Override
 	public void setRemoved() {
 		super.setRemoved();
-		InsulatorIdRegistry.releaseIds(this.getInsulatorIds());
+		if (!chunkUnloading) {
+			InsulatorIdRegistry.releaseIds(this, insulatorIds);
+		}
+		PowerNetwork.blockEntityUnloaded(this);
 		if (level != null && level.isClientSide()) {
 			DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> {
 				TrackedBlockEntities.untrack(this);
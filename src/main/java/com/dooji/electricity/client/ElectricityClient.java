@@ -12,11 +12,12 @@ import com.dooji.electricity.client.screen.WorkbenchScreen;
 import com.dooji.electricity.client.wire.InsulatorLookup;
 import com.dooji.electricity.client.wire.WireManagerClient;
 import com.dooji.electricity.main.Electricity;
-import com.dooji.electricity.main.network.payloads.PowerUpdatePayload;
-import com.dooji.electricity.main.network.payloads.SyncWiresPayload;
+import com.dooji.electricity.main.network.payloads.ChunkWiresPayload;
+import com.dooji.electricity.main.network.payloads.PowerChunkUpdatePayload;
 import com.dooji.electricity.main.network.payloads.WireConnectionPayload;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.MenuScreens;
+import net.minecraft.core.BlockPos;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.common.MinecraftForge;
@@ -63,8 +64,17 @@ public class ElectricityClient {
 		}
 	}
 
-	public static void handleSyncPacket(SyncWiresPayload payload) {
-		WireManagerClient.sync(payload.connections());
+	public static void handleChunkWiresPacket(ChunkWiresPayload payload) {
+		// Untracking for the old dimension can arrive after a dimension change;
+		// the client wire map only ever describes the current level.
+		var level = Minecraft.getInstance().level;
+		if (level == null || !level.dimension().equals(payload.dimension())) return;
+
+		if (payload.watched()) {
+			WireManagerClient.watchChunk(payload.connections());
+		} else {
+			WireManagerClient.unwatchChunk(level, payload.chunk());
+		}
 	}
 
 	public static void handleWireConnectionPacket(WireConnectionPayload payload) {
@@ -75,19 +85,23 @@ public class ElectricityClient {
 		}
 	}
 
-	public static void handlePowerUpdatePacket(PowerUpdatePayload payload) {
+	public static void handlePowerChunkUpdatePacket(PowerChunkUpdatePayload payload) {
 		var level = Minecraft.getInstance().level;
 		if (level == null) return;
 
-		var blockEntity = level.getBlockEntity(payload.blockPos());
-		if (blockEntity instanceof WindTurbineBlockEntity turbine) {
-			turbine.setCurrentPower(payload.power());
-		} else if (blockEntity instanceof ElectricCabinBlockEntity cabin) {
-			cabin.setCurrentPower(payload.power());
-		} else if (blockEntity instanceof UtilityPoleBlockEntity pole) {
-			pole.setCurrentPower(payload.power());
-		} else if (blockEntity instanceof PowerBoxBlockEntity powerBox) {
-			powerBox.setCurrentPower(payload.power());
+		BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+		for (int i = 0; i < payload.positions().length; i++) {
+			var blockEntity = level.getBlockEntity(position.set(payload.positions()[i]));
+			double power = payload.powers()[i];
+			if (blockEntity instanceof WindTurbineBlockEntity turbine) {
+				turbine.setCurrentPower(power);
+			} else if (blockEntity instanceof ElectricCabinBlockEntity cabin) {
+				cabin.setCurrentPower(power);
+			} else if (blockEntity instanceof UtilityPoleBlockEntity pole) {
+				pole.setCurrentPower(power);
+			} else if (blockEntity instanceof PowerBoxBlockEntity powerBox) {
+				powerBox.setCurrentPower(power);
+			}
 		}
 	}
 }
@@ -15,6 +15,8 @@ import com.dooji.electricity.item.ItemWire;
 import com.dooji.electricity.main.Electricity;
 import com.dooji.electricity.main.network.ElectricityNetworking;
 import com.dooji.electricity.main.network.payloads.CreateWireFromInsulatorsPayload;
+import com.dooji.electricity.main.wire.BlockType;
+import com.dooji.electricity.main.wire.PowerType;
 import com.dooji.electricity.wire.InsulatorPartHelper;
 import java.util.Optional;
 import net.minecraft.client.Minecraft;
@@ -132,11 +134,11 @@ public class WireInteractionEvents {
 		Optional<InsulatorPartHelper.Insulator> end = InsulatorPartHelper.resolve(endEntity, endPartName);
 		if (start.isEmpty() || end.isEmpty()) return false;
 
-		String startBlockType = start.get().blockType();
-		String endBlockType = end.get().blockType();
+		BlockType startBlockType = start.get().blockType();
+		BlockType endBlockType = end.get().blockType();
 
-		String startPowerType = InsulatorPartHelper.determinePowerType(startEntity, startPartName);
-		String endPowerType = InsulatorPartHelper.determinePowerType(endEntity, endPartName);
+		PowerType startPowerType = InsulatorPartHelper.determinePowerType(startEntity, startPartName);
+		PowerType endPowerType = InsulatorPartHelper.determinePowerType(endEntity, endPartName);
 
 		CreateWireFromInsulatorsPayload payload = new CreateWireFromInsulatorsPayload(start.get().insulatorId(), end.get().insulatorId(), startBlockPos, endBlockPos, startBlockType, endBlockType,
 				startPowerType, endPowerType);
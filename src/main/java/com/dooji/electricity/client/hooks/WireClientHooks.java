@@ -5,6 +5,7 @@ import com.dooji.electricity.client.wire.WireAnchorHelper;
 import com.dooji.electricity.client.wire.WireManagerClient;
 import com.dooji.electricity.main.network.ElectricityNetworking;
 import com.dooji.electricity.main.network.payloads.CreateWireFromInsulatorsPayload;
+import com.dooji.electricity.main.wire.PowerType;
 import com.dooji.electricity.wire.InsulatorPartHelper;
 import java.util.Optional;
 import net.minecraft.client.Minecraft;
@@ -62,8 +63,8 @@ public final class WireClientHooks {
 		Optional<InsulatorPartHelper.Insulator> end = InsulatorPartHelper.resolve(endEntity, endPartName);
 		if (start.isEmpty() || end.isEmpty()) return InteractionResult.FAIL;
 
-		String startPower = InsulatorPartHelper.determinePowerType(startEntity, startPartName);
-		String endPower = InsulatorPartHelper.determinePowerType(endEntity, endPartName);
+		PowerType startPower = InsulatorPartHelper.determinePowerType(startEntity, startPartName);
+		PowerType endPower = InsulatorPartHelper.determinePowerType(endEntity, endPartName);
 
 		CreateWireFromInsulatorsPayload payload = new CreateWireFromInsulatorsPayload(start.get().insulatorId(), end.get().insulatorId(), startBlockPos, endBlockPos, start.get().blockType(),
 				end.get().blockType(), startPower, endPower);
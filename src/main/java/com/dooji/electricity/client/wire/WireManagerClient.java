@@ -5,11 +5,16 @@ import com.dooji.electricity.block.PowerBoxBlockEntity;
 import com.dooji.electricity.block.UtilityPoleBlockEntity;
 import com.dooji.electricity.block.WindTurbineBlockEntity;
 import com.dooji.electricity.main.wire.WireConnection;
-import java.util.ArrayList;
+import com.dooji.electricity.main.wire.WireConnectionMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.phys.Vec3;
@@ -18,35 +23,59 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 
 @OnlyIn(Dist.CLIENT)
 public class WireManagerClient {
-	private static final Map<String, WireConnection> WIRE_CONNECTIONS = new ConcurrentHashMap<>();
+	private static final WireConnectionMap WIRE_CONNECTIONS = new WireConnectionMap();
 	private static final Map<Integer, Vec3> POSITION_CACHE = new ConcurrentHashMap<>();
 	private static Vec3 pendingConnection = null;
 	private static BlockPos pendingBlockPos = null;
 	private static String pendingPartName = null;
 
-	public static void sync(Collection<WireConnection> connections) {
-		WIRE_CONNECTIONS.clear();
-		POSITION_CACHE.clear();
-		clearPendingConnection();
-		if (connections == null) return;
+	public static void watchChunk(Collection<WireConnection> connections) {
 		for (WireConnection connection : connections) {
-			String key = connection.getStartInsulatorId() + "_" + connection.getEndInsulatorId();
-			WIRE_CONNECTIONS.put(key, connection);
+			WIRE_CONNECTIONS.put(connection);
+		}
+	}
+
+	public static void unwatchChunk(ClientLevel level, ChunkPos chunk) {
+		// Vanilla forgets the chunk before the server tells us, so a wire is
+		// dropped once none of the chunks it touches are loaded on the client.
+		long[] keys = WIRE_CONNECTIONS.keysInChunk(chunk.toLong()).toLongArray();
+		for (long key : keys) {
+			WireConnection connection = WIRE_CONNECTIONS.get(key);
+			if (connection != null && !isAnyChunkLoaded(level, connection)) {
+				WIRE_CONNECTIONS.remove(key);
+			}
 		}
 	}
 
+	private static boolean isAnyChunkLoaded(ClientLevel level, WireConnection connection) {
+		LongArrayList chunks = new LongArrayList();
+		WireConnectionMap.forEachChunk(connection, chunks::add);
+		for (int i = 0; i < chunks.size(); i++) {
+			long chunk = chunks.getLong(i);
+			if (level.getChunkSource().hasChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk))) return true;
+		}
+
+		return false;
+	}
+
 	public static void addWireConnection(WireConnection connection) {
-		String key = connection.getStartInsulatorId() + "_" + connection.getEndInsulatorId();
-		WIRE_CONNECTIONS.put(key, connection);
+		WIRE_CONNECTIONS.put(connection);
 	}
 
 	public static void removeWireConnection(WireConnection connection) {
-		String key = connection.getStartInsulatorId() + "_" + connection.getEndInsulatorId();
-		WIRE_CONNECTIONS.remove(key);
+		WIRE_CONNECTIONS.remove(connection);
 	}
 
 	public static Collection<WireConnection> getAllWireConnections() {
-		return new ArrayList<>(WIRE_CONNECTIONS.values());
+		return Collections.unmodifiableCollection(WIRE_CONNECTIONS.values());
+	}
+
+	public static List<WireConnection> getWiresInChunk(ChunkPos chunk) {
+		return WIRE_CONNECTIONS.inChunk(chunk);
+	}
+
+	public static List<WireConnection> getWiresInRegion(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		return WIRE_CONNECTIONS.inRegion(minChunkX, minChunkZ, maxChunkX, maxChunkZ);
 	}
 
 	public static void removeAll() {
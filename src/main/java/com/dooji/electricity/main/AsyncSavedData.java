@@ -0,0 +1,68 @@
+package com.dooji.electricity.main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nonnull;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Saved data that can be written off the server thread. Subclasses take a
+ * cheap immutable snapshot of their state on the server thread and return a
+ * writer that builds the tag from it; when async saves are enabled the writer
+ * and the compressed file write run on the electricity I/O thread, in
+ * submission order. A failed write marks the data dirty again on the server
+ * thread so the next save retries it.
+ */
+public abstract class AsyncSavedData extends SavedData {
+	private static final Logger LOGGER = LoggerFactory.getLogger("electricity");
+
+	protected abstract UnaryOperator<CompoundTag> snapshot();
+
+	@Override
+	public final CompoundTag save(@Nonnull CompoundTag tag) {
+		return snapshot().apply(tag);
+	}
+
+	@Override
+	public void save(@Nonnull File file) {
+		if (!isDirty()) return;
+		if (!ElectricityServerConfig.asyncSaves()) {
+			super.save(file);
+			return;
+		}
+
+		UnaryOperator<CompoundTag> writer = snapshot();
+		setDirty(false);
+		ElectricityWorkers.submitIo(() -> write(file, writer));
+	}
+
+	private void write(File file, UnaryOperator<CompoundTag> writer) {
+		try {
+			CompoundTag root = new CompoundTag();
+			root.put("data", writer.apply(new CompoundTag()));
+			NbtUtils.addCurrentDataVersion(root);
+
+			Path target = file.toPath();
+			Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+			NbtIo.writeCompressed(root, temp.toFile());
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.error("Could not save data {}", this, e);
+			MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+			if (server != null) {
+				server.execute(this::setDirty);
+			}
+		}
+	}
+}
@@ -27,7 +27,6 @@ import com.dooji.electricity.main.weather.GlobalWeatherManager;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.Item;
@@ -39,8 +38,10 @@ import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.extensions.IForgeMenuType;
 import net.minecraftforge.event.TickEvent;
-import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.ChunkWatchEvent;
 import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.event.server.ServerStoppingEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -121,7 +122,6 @@ public class Electricity {
 	public static RegistryObject<BlockEntityType<ElectricLampBlockEntity>> ELECTRIC_LAMP_BLOCK_ENTITY;
 
 	public static final WireManager wireManager = new WireManager();
-	public static PowerNetwork powerNetwork;
 
 	public Electricity() {
 		IEventBus modEventBus = FMLJavaModLoadingContext.get().getModEventBus();
@@ -161,16 +161,35 @@ public class Electricity {
 	public void onServerStarted(ServerStartedEvent event) {
 		LOGGER.info("Electricity mod initialized on server");
 
-		ServerLevel serverLevel = event.getServer().overworld();
-		GlobalWeatherManager.get(serverLevel);
-		wireManager.loadFromWorld(serverLevel);
-		powerNetwork = new PowerNetwork(serverLevel, wireManager);
+		for (ServerLevel serverLevel : event.getServer().getAllLevels()) {
+			GlobalWeatherManager.get(serverLevel);
+			wireManager.loadFromWorld(serverLevel);
+			PowerNetwork.get(serverLevel);
+		}
 	}
 
 	@SubscribeEvent
-	public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
-		if (event.getEntity() instanceof ServerPlayer player) {
-			wireManager.sendAllWiresToPlayer(player);
+	public void onChunkWatch(ChunkWatchEvent.Watch event) {
+		wireManager.onChunkWatched(event.getPlayer(), event.getLevel(), event.getPos());
+		PowerNetwork.chunkWatched(event.getPlayer(), event.getLevel(), event.getPos());
+	}
+
+	@SubscribeEvent
+	public void onChunkUnWatch(ChunkWatchEvent.UnWatch event) {
+		wireManager.onChunkUnwatched(event.getPlayer(), event.getLevel(), event.getPos());
+	}
+
+	@SubscribeEvent
+	public void onChunkLoad(ChunkEvent.Load event) {
+		if (event.getLevel() instanceof ServerLevel serverLevel) {
+			GlobalWeatherManager.onChunkLoad(serverLevel, event.getChunk().getPos());
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(ChunkEvent.Unload event) {
+		if (event.getLevel() instanceof ServerLevel serverLevel) {
+			PowerNetwork.chunkUnloaded(serverLevel, event.getChunk().getPos());
 		}
 	}
 
@@ -183,24 +202,29 @@ public class Electricity {
 			return;
 		}
 
-		if (powerNetwork != null) {
-			powerNetwork.updatePowerNetwork();
-		}
+		PowerNetwork.tickAll(event.getServer());
 	}
 
 	@SubscribeEvent
 	public void onServerStopping(ServerStoppingEvent event) {
-		ServerLevel serverLevel = event.getServer().overworld();
-		wireManager.forceSave(serverLevel);
 		for (ServerLevel level : event.getServer().getAllLevels()) {
+			wireManager.forceSave(level);
 			GlobalWeatherManager.clear(level);
+			PowerNetwork.clear(level);
 		}
+		ElectricityWorkers.shutdown();
+	}
+
+	@SubscribeEvent
+	public void onServerStopped(ServerStoppedEvent event) {
+		ElectricityWorkers.flushIo();
 	}
 
 	@SubscribeEvent
 	public void onLevelUnload(LevelEvent.Unload event) {
 		if (event.getLevel() instanceof ServerLevel serverLevel) {
 			GlobalWeatherManager.clear(serverLevel);
+			PowerNetwork.clear(serverLevel);
 		}
 	}
 }
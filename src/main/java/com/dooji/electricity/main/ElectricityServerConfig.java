@@ -1,15 +1,47 @@
 package com.dooji.electricity.main;
 
+import com.dooji.electricity.main.power.PowerSolverMode;
+import com.dooji.electricity.main.wire.WireStorageMode;
 import net.minecraftforge.common.ForgeConfigSpec;
 
 public final class ElectricityServerConfig {
 	private static final ForgeConfigSpec SERVER_SPEC_INTERNAL;
 	private static final ForgeConfigSpec.IntValue POWER_BOX_RADIUS;
+	private static final ForgeConfigSpec.EnumValue<PowerSolverMode> POWER_SOLVER;
+	private static final ForgeConfigSpec.BooleanValue PARALLEL_SOLVE;
+	private static final ForgeConfigSpec.IntValue SOLVER_THREADS;
+	private static final ForgeConfigSpec.IntValue POWER_SOLVE_INTERVAL;
+	private static final ForgeConfigSpec.BooleanValue INTERPOLATE_POWER;
+	private static final ForgeConfigSpec.IntValue POWER_TICK_BUDGET_MICROS;
+	private static final ForgeConfigSpec.DoubleValue POWER_SYNC_EPSILON;
+	private static final ForgeConfigSpec.IntValue POWER_KEYFRAME_SECONDS;
+	private static final ForgeConfigSpec.EnumValue<WireStorageMode> WIRE_STORAGE;
+	private static final ForgeConfigSpec.BooleanValue MMAP_WIRE_REGIONS;
+	private static final ForgeConfigSpec.BooleanValue ASYNC_SAVES;
+	private static final ForgeConfigSpec.BooleanValue PARALLEL_WEATHER;
+	private static final ForgeConfigSpec.BooleanValue INTERPOLATE_WIND;
 
 	static {
 		ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
 		builder.push("power");
 		POWER_BOX_RADIUS = builder.comment("Radius (in blocks) of power field around a Power Box").defineInRange("powerBoxRadius", 5, 1, 16);
+		POWER_SOLVER = builder.comment("Power flow solver. LEGACY is the original path-splitting search; BOUNDED settles every insulator once per generator and is much faster on large meshes, but in wiring with loops it splits power differently and delivers different amounts than LEGACY").defineEnum("powerSolver", PowerSolverMode.LEGACY);
+		PARALLEL_SOLVE = builder.comment("Solve independent power islands on worker threads (BOUNDED solver only)").define("parallelSolve", false);
+		SOLVER_THREADS = builder.comment("Worker threads for parallel solving, 0 uses one less than the available processors").defineInRange("solverThreads", 0, 0, 64);
+		POWER_SOLVE_INTERVAL = builder.comment("Ticks between power flow solves, block entities hold the last result in between").defineInRange("powerSolveInterval", 1, 1, 100);
+		INTERPOLATE_POWER = builder.comment("Ramp Power Box output toward each new solve over the solve interval instead of stepping").define("interpolatePower", true);
+		POWER_TICK_BUDGET_MICROS = builder.comment("Microseconds per tick the power solver may spend across all levels, 0 for no limit. Islands that do not fit are solved on later ticks in queue order").defineInRange("powerTickBudgetMicros", 0, 0, 50000);
+		POWER_SYNC_EPSILON = builder.comment("Smallest change in a block's power that is sent to clients").defineInRange("powerSyncEpsilon", 0.01, 0.0, 100.0);
+		POWER_KEYFRAME_SECONDS = builder.comment("Seconds between full power resyncs that resend unchanged values, 0 to disable").defineInRange("powerKeyframeSeconds", 10, 0, 3600);
+		builder.pop();
+		builder.push("storage");
+		WIRE_STORAGE = builder.comment("Wire storage backend. SAVED_DATA keeps every wire in one NBT file; REGION writes 32x32 chunk shards and only rewrites changed ones").defineEnum("wireStorage", WireStorageMode.SAVED_DATA);
+		MMAP_WIRE_REGIONS = builder.comment("Memory map wire shards when reading them at startup (REGION storage only)").define("mmapWireRegions", false);
+		ASYNC_SAVES = builder.comment("Snapshot wire and weather data on the server thread and serialize it on a background thread during world saves").define("asyncSaves", false);
+		builder.pop();
+		builder.push("weather");
+		PARALLEL_WEATHER = builder.comment("Step weather zones on worker threads. World inputs are still gathered on the server thread and results are identical to serial stepping").define("parallelWeather", false);
+		INTERPOLATE_WIND = builder.comment("Blend wind turbine weather between the four nearest weather zones instead of using the zone a turbine stands in").define("interpolateWind", false);
 		builder.pop();
 		SERVER_SPEC_INTERNAL = builder.build();
 	}
@@ -24,4 +56,56 @@ public final class ElectricityServerConfig {
 	public static int powerBoxRadius() {
 		return POWER_BOX_RADIUS.get();
 	}
+
+	public static PowerSolverMode powerSolver() {
+		return POWER_SOLVER.get();
+	}
+
+	public static boolean parallelSolve() {
+		return PARALLEL_SOLVE.get();
+	}
+
+	public static int solverThreads() {
+		return SOLVER_THREADS.get();
+	}
+
+	public static int powerSolveInterval() {
+		return POWER_SOLVE_INTERVAL.get();
+	}
+
+	public static boolean interpolatePower() {
+		return INTERPOLATE_POWER.get();
+	}
+
+	public static int powerTickBudgetMicros() {
+		return POWER_TICK_BUDGET_MICROS.get();
+	}
+
+	public static double powerSyncEpsilon() {
+		return POWER_SYNC_EPSILON.get();
+	}
+
+	public static int powerKeyframeSeconds() {
+		return POWER_KEYFRAME_SECONDS.get();
+	}
+
+	public static WireStorageMode wireStorage() {
+		return WIRE_STORAGE.get();
+	}
+
+	public static boolean mmapWireRegions() {
+		return MMAP_WIRE_REGIONS.get();
+	}
+
+	public static boolean asyncSaves() {
+		return ASYNC_SAVES.get();
+	}
+
+	public static boolean parallelWeather() {
+		return PARALLEL_WEATHER.get();
+	}
+
+	public static boolean interpolateWind() {
+		return INTERPOLATE_WIND.get();
+	}
 }
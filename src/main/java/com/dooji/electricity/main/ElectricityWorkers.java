@@ -0,0 +1,75 @@
+package com.dooji.electricity.main;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ElectricityWorkers {
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+	private static ForkJoinPool computePool;
+	private static ExecutorService ioExecutor;
+
+	private ElectricityWorkers() {
+	}
+
+	public static synchronized ForkJoinPool computePool() {
+		int parallelism = resolveParallelism(ElectricityServerConfig.solverThreads());
+		if (computePool != null && computePool.getParallelism() == parallelism) return computePool;
+
+		if (computePool != null) {
+			computePool.shutdown();
+		}
+
+		computePool = new ForkJoinPool(parallelism, pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("Electricity-Worker-" + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}, null, false);
+		return computePool;
+	}
+
+	public static synchronized void shutdown() {
+		if (computePool == null) return;
+
+		computePool.shutdown();
+		try {
+			computePool.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		computePool = null;
+	}
+
+	public static synchronized void submitIo(Runnable task) {
+		if (ioExecutor == null) {
+			ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Electricity-IO");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		ioExecutor.execute(task);
+	}
+
+	public static synchronized void flushIo() {
+		if (ioExecutor == null) return;
+
+		ioExecutor.shutdown();
+		try {
+			ioExecutor.awaitTermination(60, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		ioExecutor = null;
+	}
+
+	private static int resolveParallelism(int configured) {
+		if (configured > 0) return configured;
+		return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+	}
+}
@@ -3,37 +3,44 @@ package com.dooji.electricity.main.network;
 import com.dooji.electricity.block.UtilityPoleBlockEntity;
 import com.dooji.electricity.client.ElectricityClient;
 import com.dooji.electricity.main.Electricity;
+import com.dooji.electricity.main.network.payloads.ChunkWiresPayload;
 import com.dooji.electricity.main.network.payloads.CreateWireFromInsulatorsPayload;
-import com.dooji.electricity.main.network.payloads.PowerUpdatePayload;
-import com.dooji.electricity.main.network.payloads.SyncWiresPayload;
+import com.dooji.electricity.main.network.payloads.PowerChunkUpdatePayload;
 import com.dooji.electricity.main.network.payloads.UpdateUtilityPoleConfigPayload;
 import com.dooji.electricity.main.network.payloads.WireConnectionPayload;
-import net.minecraft.core.BlockPos;
+import com.dooji.electricity.main.wire.WireConnection;
+import com.dooji.electricity.main.wire.WireConnectionMap;
+import java.util.HashSet;
+import java.util.Set;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.PacketDistributor;
 import net.minecraftforge.network.simple.SimpleChannel;
 
 public class ElectricityNetworking {
-	private static final String PROTOCOL_VERSION = "1";
+	private static final String PROTOCOL_VERSION = "5";
 	public static final ResourceLocation NETWORK_CHANNEL = ResourceLocation.tryBuild(Electricity.MOD_ID, "main");
 	public static SimpleChannel INSTANCE;
 
 	public static void init() {
-		INSTANCE = NetworkRegistry.ChannelBuilder.named(NETWORK_CHANNEL).networkProtocolVersion(() -> PROTOCOL_VERSION).clientAcceptedVersions(v -> true).serverAcceptedVersions(v -> true)
+		INSTANCE = NetworkRegistry.ChannelBuilder.named(NETWORK_CHANNEL).networkProtocolVersion(() -> PROTOCOL_VERSION).clientAcceptedVersions(NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION))
+				.serverAcceptedVersions(NetworkRegistry.acceptMissingOr(PROTOCOL_VERSION))
 				.simpleChannel();
 
 		int id = 0;
 
-		INSTANCE.messageBuilder(SyncWiresPayload.class, id++, NetworkDirection.PLAY_TO_CLIENT).encoder(SyncWiresPayload::write).decoder(SyncWiresPayload::read)
+		INSTANCE.messageBuilder(ChunkWiresPayload.class, id++, NetworkDirection.PLAY_TO_CLIENT).encoder(ChunkWiresPayload::write).decoder(ChunkWiresPayload::read)
 				.consumerNetworkThread((msg, contextSupplier) -> {
 					var context = contextSupplier.get();
 
 					if (context.getDirection().getReceptionSide().isClient()) {
-						context.enqueueWork(() -> ElectricityClient.handleSyncPacket(msg));
+						context.enqueueWork(() -> ElectricityClient.handleChunkWiresPacket(msg));
 					}
 
 					context.setPacketHandled(true);
@@ -94,31 +101,44 @@ public class ElectricityNetworking {
 					context.setPacketHandled(true);
 				}).add();
 
-		INSTANCE.messageBuilder(PowerUpdatePayload.class, id++, NetworkDirection.PLAY_TO_CLIENT).encoder(PowerUpdatePayload::write).decoder(PowerUpdatePayload::read)
+		INSTANCE.messageBuilder(PowerChunkUpdatePayload.class, id++, NetworkDirection.PLAY_TO_CLIENT).encoder(PowerChunkUpdatePayload::write).decoder(PowerChunkUpdatePayload::read)
 				.consumerNetworkThread((msg, contextSupplier) -> {
 					var context = contextSupplier.get();
 
 					if (context.getDirection().getReceptionSide().isClient()) {
-						context.enqueueWork(() -> ElectricityClient.handlePowerUpdatePacket(msg));
+						context.enqueueWork(() -> ElectricityClient.handlePowerChunkUpdatePacket(msg));
 					}
 
 					context.setPacketHandled(true);
 				}).add();
 	}
 
-	public static void broadcastToAllClients(ServerLevel world, WireConnectionPayload payload) {
-		INSTANCE.send(PacketDistributor.ALL.noArg(), payload);
+	public static void sendToPlayersTrackingWire(ServerLevel world, WireConnection connection, WireConnectionPayload payload) {
+		// A span can cross several chunks; collect their trackers first so each
+		// player gets the delta once, without loading chunks the way
+		// TRACKING_CHUNK would.
+		ChunkMap chunkMap = world.getChunkSource().chunkMap;
+		Set<ServerPlayer> players = new HashSet<>();
+		WireConnectionMap.forEachChunk(connection, chunk -> players.addAll(chunkMap.getPlayers(new ChunkPos(chunk), false)));
+
+		for (ServerPlayer player : players) {
+			INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), payload);
+		}
 	}
 
 	public static void sendToClient(ServerPlayer player, WireConnectionPayload payload) {
 		INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), payload);
 	}
 
-	public static void sendToClient(ServerPlayer player, SyncWiresPayload payload) {
+	public static void sendToClient(ServerPlayer player, ChunkWiresPayload payload) {
 		INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), payload);
 	}
 
-	public static void sendPowerUpdate(ServerLevel world, BlockPos pos, double power) {
-		INSTANCE.send(PacketDistributor.TRACKING_CHUNK.with(() -> world.getChunkAt(pos)), new PowerUpdatePayload(pos, power));
+	public static void sendToClient(ServerPlayer player, PowerChunkUpdatePayload payload) {
+		INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), payload);
+	}
+
+	public static void sendPowerUpdate(LevelChunk chunk, PowerChunkUpdatePayload payload) {
+		INSTANCE.send(PacketDistributor.TRACKING_CHUNK.with(() -> chunk), payload);
 	}
 }
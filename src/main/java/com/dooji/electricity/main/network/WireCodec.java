@@ -0,0 +1,128 @@
+package com.dooji.electricity.main.network;
+
+import com.dooji.electricity.main.wire.BlockType;
+import com.dooji.electricity.main.wire.PowerType;
+import com.dooji.electricity.main.wire.WireConnection;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * Compact wire encoding for sync packets. Ids are varints with the end id
+ * stored relative to the start id, positions are per-axis zigzag deltas from
+ * the previous wire's start (or from the start for the end point), and the four
+ * enum fields plus a custom wire type marker share one varint of bit fields.
+ * Neighbouring wires in a chunk usually encode in around a dozen bytes.
+ */
+public final class WireCodec {
+	private static final String DEFAULT_WIRE_TYPE = "default";
+	private static final int BLOCK_TYPE_BITS = 3;
+	private static final int POWER_TYPE_BITS = 2;
+	private static final int BLOCK_TYPE_MASK = (1 << BLOCK_TYPE_BITS) - 1;
+	private static final int POWER_TYPE_MASK = (1 << POWER_TYPE_BITS) - 1;
+	private static final int CUSTOM_TYPE_FLAG = 1 << (BLOCK_TYPE_BITS * 2 + POWER_TYPE_BITS * 2);
+	private static final BlockType[] BLOCK_TYPES = BlockType.values();
+	private static final PowerType[] POWER_TYPES = PowerType.values();
+
+	static {
+		if (BLOCK_TYPES.length > BLOCK_TYPE_MASK + 1 || POWER_TYPES.length > POWER_TYPE_MASK + 1) {
+			throw new IllegalStateException("Wire codec bit fields are too narrow for the block or power type enums");
+		}
+	}
+
+	private WireCodec() {
+	}
+
+	public static void writeConnections(FriendlyByteBuf buf, List<WireConnection> connections) {
+		buf.writeVarInt(connections.size());
+		BlockPos origin = BlockPos.ZERO;
+		for (WireConnection connection : connections) {
+			write(buf, connection, origin);
+			origin = connection.getStartBlockPos();
+		}
+	}
+
+	public static List<WireConnection> readConnections(FriendlyByteBuf buf) {
+		int size = buf.readVarInt();
+		List<WireConnection> connections = new ArrayList<>(size);
+		BlockPos origin = BlockPos.ZERO;
+		for (int i = 0; i < size; i++) {
+			WireConnection connection = read(buf, origin);
+			connections.add(connection);
+			origin = connection.getStartBlockPos();
+		}
+		return connections;
+	}
+
+	public static void writeConnection(FriendlyByteBuf buf, WireConnection connection) {
+		write(buf, connection, BlockPos.ZERO);
+	}
+
+	public static WireConnection readConnection(FriendlyByteBuf buf) {
+		return read(buf, BlockPos.ZERO);
+	}
+
+	private static void write(FriendlyByteBuf buf, WireConnection connection, BlockPos origin) {
+		boolean customType = !DEFAULT_WIRE_TYPE.equals(connection.getWireType());
+		int flags = connection.getStartBlockType().ordinal()
+				| connection.getEndBlockType().ordinal() << BLOCK_TYPE_BITS
+				| connection.getStartPowerType().ordinal() << (BLOCK_TYPE_BITS * 2)
+				| connection.getEndPowerType().ordinal() << (BLOCK_TYPE_BITS * 2 + POWER_TYPE_BITS)
+				| (customType ? CUSTOM_TYPE_FLAG : 0);
+
+		buf.writeVarInt(flags);
+		buf.writeVarInt(connection.getStartInsulatorId());
+		writeZigZag(buf, connection.getEndInsulatorId() - connection.getStartInsulatorId());
+		writeDelta(buf, origin, connection.getStartBlockPos());
+		writeDelta(buf, connection.getStartBlockPos(), connection.getEndBlockPos());
+		if (customType) {
+			buf.writeUtf(connection.getWireType());
+		}
+	}
+
+	private static WireConnection read(FriendlyByteBuf buf, BlockPos origin) {
+		int flags = buf.readVarInt();
+		int startInsulatorId = buf.readVarInt();
+		int endInsulatorId = startInsulatorId + readZigZag(buf);
+		BlockPos startBlockPos = readDelta(buf, origin);
+		BlockPos endBlockPos = readDelta(buf, startBlockPos);
+		String wireType = (flags & CUSTOM_TYPE_FLAG) != 0 ? buf.readUtf() : DEFAULT_WIRE_TYPE;
+
+		BlockType startBlockType = blockType(flags & BLOCK_TYPE_MASK);
+		BlockType endBlockType = blockType(flags >> BLOCK_TYPE_BITS & BLOCK_TYPE_MASK);
+		PowerType startPowerType = powerType(flags >> (BLOCK_TYPE_BITS * 2) & POWER_TYPE_MASK);
+		PowerType endPowerType = powerType(flags >> (BLOCK_TYPE_BITS * 2 + POWER_TYPE_BITS) & POWER_TYPE_MASK);
+		return new WireConnection(startInsulatorId, endInsulatorId, wireType, startBlockPos, endBlockPos, startBlockType, endBlockType, startPowerType, endPowerType);
+	}
+
+	private static void writeDelta(FriendlyByteBuf buf, BlockPos from, BlockPos to) {
+		writeZigZag(buf, to.getX() - from.getX());
+		writeZigZag(buf, to.getY() - from.getY());
+		writeZigZag(buf, to.getZ() - from.getZ());
+	}
+
+	private static BlockPos readDelta(FriendlyByteBuf buf, BlockPos from) {
+		int x = from.getX() + readZigZag(buf);
+		int y = from.getY() + readZigZag(buf);
+		int z = from.getZ() + readZigZag(buf);
+		return new BlockPos(x, y, z);
+	}
+
+	private static void writeZigZag(FriendlyByteBuf buf, int value) {
+		buf.writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	private static int readZigZag(FriendlyByteBuf buf) {
+		int value = buf.readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static BlockType blockType(int ordinal) {
+		return ordinal < BLOCK_TYPES.length ? BLOCK_TYPES[ordinal] : BlockType.UNKNOWN;
+	}
+
+	private static PowerType powerType(int ordinal) {
+		return ordinal < POWER_TYPES.length ? POWER_TYPES[ordinal] : PowerType.UNKNOWN;
+	}
+}
@@ -0,0 +1,26 @@
+package com.dooji.electricity.main.network.payloads;
+
+import com.dooji.electricity.main.network.WireCodec;
+import com.dooji.electricity.main.wire.WireConnection;
+import java.util.List;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+public record ChunkWiresPayload(ResourceKey<Level> dimension, ChunkPos chunk, boolean watched, List<WireConnection> connections) {
+	public static void write(ChunkWiresPayload message, FriendlyByteBuf buf) {
+		buf.writeResourceKey(message.dimension);
+		buf.writeChunkPos(message.chunk);
+		buf.writeBoolean(message.watched);
+		WireCodec.writeConnections(buf, message.connections);
+	}
+
+	public static ChunkWiresPayload read(FriendlyByteBuf buf) {
+		ResourceKey<Level> dimension = buf.readResourceKey(Registries.DIMENSION);
+		ChunkPos chunk = buf.readChunkPos();
+		boolean watched = buf.readBoolean();
+		return new ChunkWiresPayload(dimension, chunk, watched, WireCodec.readConnections(buf));
+	}
+}
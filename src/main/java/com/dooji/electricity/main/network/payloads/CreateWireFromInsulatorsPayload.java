@@ -1,19 +1,21 @@
 package com.dooji.electricity.main.network.payloads;
 
+import com.dooji.electricity.main.wire.BlockType;
+import com.dooji.electricity.main.wire.PowerType;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
 
-public record CreateWireFromInsulatorsPayload(int startInsulatorId, int endInsulatorId, BlockPos startBlockPos, BlockPos endBlockPos, String startBlockType, String endBlockType, String startPowerType,
-		String endPowerType) {
+public record CreateWireFromInsulatorsPayload(int startInsulatorId, int endInsulatorId, BlockPos startBlockPos, BlockPos endBlockPos, BlockType startBlockType, BlockType endBlockType,
+		PowerType startPowerType, PowerType endPowerType) {
 	public static void write(CreateWireFromInsulatorsPayload message, FriendlyByteBuf buf) {
 		buf.writeInt(message.startInsulatorId);
 		buf.writeInt(message.endInsulatorId);
 		buf.writeBlockPos(message.startBlockPos);
 		buf.writeBlockPos(message.endBlockPos);
-		buf.writeUtf(message.startBlockType);
-		buf.writeUtf(message.endBlockType);
-		buf.writeUtf(message.startPowerType);
-		buf.writeUtf(message.endPowerType);
+		buf.writeEnum(message.startBlockType);
+		buf.writeEnum(message.endBlockType);
+		buf.writeEnum(message.startPowerType);
+		buf.writeEnum(message.endPowerType);
 	}
 
 	public static CreateWireFromInsulatorsPayload read(FriendlyByteBuf buf) {
@@ -22,11 +24,18 @@ public record CreateWireFromInsulatorsPayload(int startInsulatorId, int endInsul
 
 		BlockPos startBlockPos = buf.readBlockPos();
 		BlockPos endBlockPos = buf.readBlockPos();
-		String startBlockType = buf.readUtf();
-		String endBlockType = buf.readUtf();
-		String startPowerType = buf.readUtf();
-		String endPowerType = buf.readUtf();
+		BlockType startBlockType = readOrdinal(buf, BlockType.values(), BlockType.UNKNOWN);
+		BlockType endBlockType = readOrdinal(buf, BlockType.values(), BlockType.UNKNOWN);
+		PowerType startPowerType = readOrdinal(buf, PowerType.values(), PowerType.UNKNOWN);
+		PowerType endPowerType = readOrdinal(buf, PowerType.values(), PowerType.UNKNOWN);
 
 		return new CreateWireFromInsulatorsPayload(startInsulatorId, endInsulatorId, startBlockPos, endBlockPos, startBlockType, endBlockType, startPowerType, endPowerType);
 	}
+
+	// Sent by the client, so an out of range ordinal maps to UNKNOWN and is
+	// sanitized by the wire manager instead of failing the packet decoder.
+	private static <T extends Enum<T>> T readOrdinal(FriendlyByteBuf buf, T[] values, T fallback) {
+		int ordinal = buf.readVarInt();
+		return ordinal >= 0 && ordinal < values.length ? values[ordinal] : fallback;
+	}
 }
@@ -0,0 +1,32 @@
+package com.dooji.electricity.main.network.payloads;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.ChunkPos;
+
+public record PowerChunkUpdatePayload(ChunkPos chunk, long[] positions, float[] powers) {
+	public static void write(PowerChunkUpdatePayload message, FriendlyByteBuf buf) {
+		buf.writeChunkPos(message.chunk);
+		buf.writeVarInt(message.positions.length);
+		for (int i = 0; i < message.positions.length; i++) {
+			long position = message.positions[i];
+			buf.writeByte((BlockPos.getX(position) & 15) << 4 | (BlockPos.getZ(position) & 15));
+			buf.writeShort(BlockPos.getY(position));
+			buf.writeFloat(message.powers[i]);
+		}
+	}
+
+	public static PowerChunkUpdatePayload read(FriendlyByteBuf buf) {
+		ChunkPos chunk = buf.readChunkPos();
+		int size = buf.readVarInt();
+		long[] positions = new long[size];
+		float[] powers = new float[size];
+		for (int i = 0; i < size; i++) {
+			int local = buf.readUnsignedByte();
+			int y = buf.readShort();
+			positions[i] = BlockPos.asLong(chunk.getBlockX(local >> 4), y, chunk.getBlockZ(local & 15));
+			powers[i] = buf.readFloat();
+		}
+		return new PowerChunkUpdatePayload(chunk, positions, powers);
+	}
+}
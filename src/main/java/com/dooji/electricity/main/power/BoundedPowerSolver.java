@@ -0,0 +1,215 @@
+package com.dooji.electricity.main.power;
+
+import com.dooji.electricity.api.power.PowerDeliveryEvent;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Distributes one generator's output with a max-power relaxation instead of
+ * the path-copying depth first search. Every cluster of insulators sharing a
+ * block is settled once, at the highest power any path can deliver to it, so
+ * a solve costs O((V + E) log V) regardless of loops in the wiring. All
+ * scratch state lives in arrays indexed by island node index and is reused
+ * between solves.
+ *
+ * Results match the legacy search on tree-shaped wiring. In meshes with loops
+ * they can differ: a block's output is split among neighbours not yet settled
+ * anywhere in the solve, while the legacy search splits among neighbours not
+ * visited on the current path, so loops hand out fewer, larger shares here.
+ */
+final class BoundedPowerSolver {
+	private final Int2ObjectMap<List<PowerNetwork.PowerConnection>> outgoingConnections;
+	private double[] bestPower = new double[0];
+	private boolean[] bestSurge = new boolean[0];
+	private PowerDeliveryEvent[] bestEvent = new PowerDeliveryEvent[0];
+	private boolean[] settled = new boolean[0];
+	private int[] heap = new int[0];
+	private int[] heapSlot = new int[0];
+	private int heapSize = 0;
+	private int[] groupSlot = new int[0];
+	private int[] groupTarget = new int[0];
+	private double[] groupDistance = new double[0];
+	private int[] groupWires = new int[0];
+	private PowerIsland island;
+
+	BoundedPowerSolver(Int2ObjectMap<List<PowerNetwork.PowerConnection>> outgoingConnections) {
+		this.outgoingConnections = outgoingConnections;
+	}
+
+	void solve(PowerIsland island, PowerNetwork.PowerNode generator, double generatedPower, boolean surging, PowerDeliveryEvent generatorEvent) {
+		this.island = island;
+		int nodeCount = island.nodes.size();
+		ensureCapacity(nodeCount, island.positions.size());
+		Arrays.fill(bestPower, 0, nodeCount, 0.0);
+		Arrays.fill(settled, 0, nodeCount, false);
+		Arrays.fill(heapSlot, 0, nodeCount, -1);
+		heapSize = 0;
+
+		int start = generator.islandIndex;
+		bestPower[start] = generatedPower;
+		bestSurge[start] = surging;
+		bestEvent[start] = generatorEvent;
+		offer(start);
+
+		while (heapSize > 0) {
+			int index = poll();
+			if (settled[index]) continue;
+
+			PowerNetwork.PowerNode node = island.nodes.get(index);
+			List<PowerNetwork.PowerNode> cluster = island.clusters.get(node.islandPosition);
+			double power = bestPower[index];
+			PowerDeliveryEvent event = bestEvent[index];
+			boolean localSurge = bestSurge[index] || node.hasLocalSurge();
+			if (index != start && node.isGenerator()) {
+				power += Math.max(0.0, node.getOutputPower());
+			}
+
+			for (PowerNetwork.PowerNode member : cluster) {
+				int memberIndex = member.islandIndex;
+				if (settled[memberIndex]) continue;
+
+				settled[memberIndex] = true;
+				island.power[memberIndex] += power;
+				island.events[memberIndex] = PowerNetwork.mergeEvents(island.events[memberIndex], event);
+				if (localSurge) {
+					island.surge[memberIndex] = true;
+				}
+			}
+
+			relaxCluster(cluster, power, localSurge, event);
+		}
+
+		this.island = null;
+	}
+
+	private void relaxCluster(List<PowerNetwork.PowerNode> cluster, double power, boolean localSurge, PowerDeliveryEvent event) {
+		int groupCount = 0;
+		for (PowerNetwork.PowerNode node : cluster) {
+			if (!node.isAttached()) continue;
+
+			for (PowerNetwork.PowerConnection connection : outgoingConnections.getOrDefault(node.insulatorId, Collections.emptyList())) {
+				PowerNetwork.PowerNode other = connection.getOtherNode(node);
+				if (!other.isAttached() || other.island != island || settled[other.islandIndex]) continue;
+
+				int slot = groupSlot[other.islandPosition];
+				if (slot < 0) {
+					slot = groupCount++;
+					groupSlot[other.islandPosition] = slot;
+					groupTarget[slot] = other.islandIndex;
+					groupDistance[slot] = 0.0;
+					groupWires[slot] = 0;
+				}
+
+				groupDistance[slot] += connection.distance;
+				groupWires[slot]++;
+			}
+		}
+
+		if (groupCount == 0) return;
+
+		double powerPerGroup = power / groupCount;
+		for (int slot = 0; slot < groupCount; slot++) {
+			int target = groupTarget[slot];
+			groupSlot[island.nodes.get(target).islandPosition] = -1;
+
+			double efficiency = PowerNetwork.TargetGroup.computeEfficiency(groupDistance[slot], groupWires[slot]);
+			double deliveredPower = powerPerGroup * efficiency;
+			if (deliveredPower <= 0) continue;
+
+			PowerDeliveryEvent propagatedEvent = PowerNetwork.attenuateEvent(event, efficiency);
+			island.events[target] = PowerNetwork.mergeEvents(island.events[target], propagatedEvent);
+
+			if (deliveredPower > bestPower[target]) {
+				bestPower[target] = deliveredPower;
+				bestSurge[target] = localSurge;
+				bestEvent[target] = propagatedEvent;
+				offer(target);
+			}
+		}
+	}
+
+	private void ensureCapacity(int nodeCount, int positionCount) {
+		if (bestPower.length < nodeCount) {
+			int capacity = Math.max(nodeCount, bestPower.length * 2);
+			bestPower = new double[capacity];
+			bestSurge = new boolean[capacity];
+			bestEvent = new PowerDeliveryEvent[capacity];
+			settled = new boolean[capacity];
+			heap = new int[capacity];
+			heapSlot = new int[capacity];
+			groupTarget = new int[capacity];
+			groupDistance = new double[capacity];
+			groupWires = new int[capacity];
+		}
+
+		if (groupSlot.length < positionCount) {
+			groupSlot = new int[Math.max(positionCount, groupSlot.length * 2)];
+			Arrays.fill(groupSlot, -1);
+		}
+	}
+
+	private void offer(int index) {
+		int slot = heapSlot[index];
+		if (slot < 0) {
+			slot = heapSize++;
+			heap[slot] = index;
+			heapSlot[index] = slot;
+		}
+
+		siftUp(slot);
+	}
+
+	private int poll() {
+		int top = heap[0];
+		heapSlot[top] = -1;
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapSlot[heap[0]] = 0;
+			siftDown(0);
+		}
+
+		return top;
+	}
+
+	private void siftUp(int slot) {
+		int index = heap[slot];
+		while (slot > 0) {
+			int parent = (slot - 1) >>> 1;
+			if (!before(index, heap[parent])) break;
+
+			heap[slot] = heap[parent];
+			heapSlot[heap[slot]] = slot;
+			slot = parent;
+		}
+
+		heap[slot] = index;
+		heapSlot[index] = slot;
+	}
+
+	private void siftDown(int slot) {
+		int index = heap[slot];
+		while (true) {
+			int child = slot * 2 + 1;
+			if (child >= heapSize) break;
+			if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!before(heap[child], index)) break;
+
+			heap[slot] = heap[child];
+			heapSlot[heap[slot]] = slot;
+			slot = child;
+		}
+
+		heap[slot] = index;
+		heapSlot[index] = slot;
+	}
+
+	private boolean before(int a, int b) {
+		if (bestPower[a] != bestPower[b]) return bestPower[a] > bestPower[b];
+		return island.nodes.get(a).insulatorId < island.nodes.get(b).insulatorId;
+	}
+}
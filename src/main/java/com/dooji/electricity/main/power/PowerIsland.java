@@ -0,0 +1,142 @@
+package com.dooji.electricity.main.power;
+
+import com.dooji.electricity.api.power.PowerDeliveryEvent;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.minecraft.core.BlockPos;
+
+/**
+ * A connected component of the power graph. Power never crosses between
+ * islands, so each one keeps its own solution and is only re-solved when its
+ * topology or the output of one of its generators changes. Nodes are indexed
+ * densely when the island is built, so solving and syncing only touch arrays.
+ */
+final class PowerIsland {
+	final List<PowerNetwork.PowerNode> nodes = new ArrayList<>();
+	final List<PowerNetwork.PowerNode> generators = new ArrayList<>();
+	final List<BlockPos> positions = new ArrayList<>();
+	final List<List<PowerNetwork.PowerNode>> clusters = new ArrayList<>();
+	final double[] power;
+	final PowerDeliveryEvent[] events;
+	final boolean[] surge;
+	final double[] syncPower;
+	final PowerDeliveryEvent[] syncEvent;
+	final PowerNetwork.PowerNode[] syncRepresentative;
+	private final double[] inputPower;
+	private final boolean[] inputSurge;
+	private final PowerDeliveryEvent[] inputEvent;
+	private final boolean[] synced;
+	private final double[] appliedPower;
+	private final PowerDeliveryEvent[] appliedEvent;
+	boolean dirty = true;
+	boolean needsSync = false;
+	boolean queued = false;
+	boolean retired = false;
+	long staleSinceTick = 0L;
+
+	PowerIsland(List<PowerNetwork.PowerNode> members) {
+		Object2IntOpenHashMap<BlockPos> positionIndex = new Object2IntOpenHashMap<>();
+		positionIndex.defaultReturnValue(-1);
+
+		for (PowerNetwork.PowerNode node : members) {
+			int position = positionIndex.getInt(node.position);
+			if (position < 0) {
+				position = positions.size();
+				positionIndex.put(node.position, position);
+				positions.add(node.position);
+				clusters.add(new ArrayList<>());
+			}
+
+			node.island = this;
+			node.islandIndex = nodes.size();
+			node.islandPosition = position;
+			nodes.add(node);
+			clusters.get(position).add(node);
+			if (node.isGenerator()) {
+				generators.add(node);
+			}
+		}
+
+		int nodeCount = nodes.size();
+		power = new double[nodeCount];
+		events = new PowerDeliveryEvent[nodeCount];
+		surge = new boolean[nodeCount];
+		inputPower = new double[generators.size()];
+		inputSurge = new boolean[generators.size()];
+		inputEvent = new PowerDeliveryEvent[generators.size()];
+
+		int positionCount = positions.size();
+		synced = new boolean[positionCount];
+		appliedPower = new double[positionCount];
+		appliedEvent = new PowerDeliveryEvent[positionCount];
+		syncPower = new double[positionCount];
+		syncEvent = new PowerDeliveryEvent[positionCount];
+		syncRepresentative = new PowerNetwork.PowerNode[positionCount];
+		clearSolution();
+	}
+
+	boolean setInput(int index, double generatedPower, boolean surging, PowerDeliveryEvent event, double tolerance) {
+		boolean changed = inputEvent[index] == null || powerChanged(inputPower[index], generatedPower, tolerance) || inputSurge[index] != surging || !sameEvent(inputEvent[index], event);
+		if (changed) {
+			inputPower[index] = generatedPower;
+		}
+		inputSurge[index] = surging;
+		inputEvent[index] = event;
+		return changed;
+	}
+
+	void setInputPower(int index, double generatedPower) {
+		inputPower[index] = generatedPower;
+	}
+
+	double inputPower(int index) {
+		return inputPower[index];
+	}
+
+	boolean inputSurge(int index) {
+		return inputSurge[index];
+	}
+
+	PowerDeliveryEvent inputEvent(int index) {
+		return inputEvent[index];
+	}
+
+	void clearSolution() {
+		Arrays.fill(power, 0.0);
+		Arrays.fill(events, PowerDeliveryEvent.none());
+		Arrays.fill(surge, false);
+	}
+
+	boolean isSynced(int position) {
+		return synced[position];
+	}
+
+	void setSynced(int position, boolean value) {
+		synced[position] = value;
+	}
+
+	boolean markApplied(int position, double power, PowerDeliveryEvent event) {
+		if (synced[position] && appliedPower[position] == power && sameEvent(appliedEvent[position], event)) return false;
+
+		synced[position] = true;
+		appliedPower[position] = power;
+		appliedEvent[position] = event;
+		return true;
+	}
+
+	private static boolean powerChanged(double previous, double current, double tolerance) {
+		if ((previous > 0) != (current > 0)) return true;
+		return Math.abs(previous - current) > tolerance;
+	}
+
+	private static boolean sameEvent(PowerDeliveryEvent a, PowerDeliveryEvent b) {
+		if (isQuiet(a) && isQuiet(b)) return true;
+		return a.equals(b);
+	}
+
+	private static boolean isQuiet(PowerDeliveryEvent event) {
+		return event.surgeDuration() == 0 && !event.disconnectActive() && event.brownoutFactor() >= 1.0;
+	}
+}
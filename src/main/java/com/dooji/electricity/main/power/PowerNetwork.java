@@ -5,49 +5,230 @@ import com.dooji.electricity.block.PowerBoxBlockEntity;
 import com.dooji.electricity.block.UtilityPoleBlockEntity;
 import com.dooji.electricity.block.WindTurbineBlockEntity;
 import com.dooji.electricity.api.power.PowerDeliveryEvent;
-import com.dooji.electricity.main.network.ElectricityNetworking;
-import com.dooji.electricity.main.weather.GlobalWeatherManager;
+import com.dooji.electricity.main.Electricity;
+import com.dooji.electricity.main.ElectricityServerConfig;
+import com.dooji.electricity.main.ElectricityWorkers;
 import com.dooji.electricity.main.weather.WeatherSnapshot;
+import com.dooji.electricity.main.wire.BlockType;
+import com.dooji.electricity.main.wire.PowerType;
 import com.dooji.electricity.main.wire.WireConnection;
+import com.dooji.electricity.main.wire.WireConnectionMap;
 import com.dooji.electricity.main.wire.WireManager;
+import com.dooji.electricity.wire.InsulatorPartHelper;
+import it.unimi.dsi.fastutil.ints.Int2DoubleMap;
+import it.unimi.dsi.fastutil.ints.Int2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PowerNetwork {
 	private static final Logger LOGGER = LoggerFactory.getLogger("electricity");
+	private static final Map<ServerLevel, PowerNetwork> INSTANCES = new ConcurrentHashMap<>();
+	private static final List<PowerNetwork> TICKING = new ArrayList<>();
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported() ? bean : null;
+	private static final int ALLOCATION_REPORT_TICKS = 600;
+	private static int budgetCursor = 0;
+	private static long lastTickAllocatedBytes = -1L;
+	private static long windowAllocatedBytes = 0L;
+	private static int windowTicks = 0;
 	private final ServerLevel level;
-	private final Map<Integer, PowerNode> powerNodes = new HashMap<>();
-	private final Map<String, PowerConnection> powerConnections = new HashMap<>();
+	private final Int2ObjectOpenHashMap<PowerNode> powerNodes = new Int2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<PowerConnection> powerConnections = new Long2ObjectOpenHashMap<>();
+	private final Int2ObjectOpenHashMap<List<PowerConnection>> outgoingConnections = new Int2ObjectOpenHashMap<>();
 	private final Map<BlockPos, List<PowerNode>> nodesByPosition = new HashMap<>();
 	private final WireManager wireManager;
-	private final Map<BlockPos, Double> lastSyncedPower = new HashMap<>();
-	private final Set<Integer> surgeImpactedNodes = new HashSet<>();
-	private final Map<Integer, PowerDeliveryEvent> nodeEvents = new HashMap<>();
-	private final Map<Integer, GeneratorEvent> generatorEvents = new HashMap<>();
+	private final PowerSyncBatcher syncBatcher;
+	private final Int2ObjectOpenHashMap<GeneratorEvent> generatorEvents = new Int2ObjectOpenHashMap<>();
+	private final Queue<GraphChange> pendingChanges = new ArrayDeque<>();
+	private final IntOpenHashSet staleInsulators = new IntOpenHashSet();
+	private final Set<PowerIsland> islands = new HashSet<>();
+	private final Set<PowerIsland> islandsToRebuild = new HashSet<>();
+	private final List<PowerNode> unassignedNodes = new ArrayList<>();
+	private final Set<BlockPos> orphanedPositions = new HashSet<>();
+	private final ThreadLocal<BoundedPowerSolver> boundedSolvers = ThreadLocal.withInitial(() -> new BoundedPowerSolver(outgoingConnections));
+	private final Deque<PowerIsland> solveQueue = new ArrayDeque<>();
+	private final List<PowerIsland> solvedIslands = new ArrayList<>();
+	private final List<PowerIsland> solveBatch = new ArrayList<>();
+	private int ticksUntilSolve = 0;
+	private int rampTicks = 0;
+	private long lastSolveNanos = 0L;
+	private long lastMaxStaleTicks = 0L;
 
 	public PowerNetwork(ServerLevel level, WireManager wireManager) {
 		this.level = level;
 		this.wireManager = wireManager;
+		this.syncBatcher = new PowerSyncBatcher(level);
+		buildNetworkFromWires();
 	}
 
-	public void updatePowerNetwork() {
-		clearNetwork();
-		buildNetworkFromWires();
-		calculatePowerFlow();
-		syncToClients();
+	public static PowerNetwork get(ServerLevel level) {
+		return INSTANCES.computeIfAbsent(level, l -> new PowerNetwork(l, Electricity.wireManager));
+	}
+
+	public static PowerNetwork find(Level level) {
+		if (!(level instanceof ServerLevel serverLevel)) return null;
+		return INSTANCES.get(serverLevel);
+	}
+
+	public static void clear(ServerLevel level) {
+		PowerNetwork network = INSTANCES.remove(level);
+		if (network != null) {
+			network.syncBatcher.clear();
+		}
+	}
+
+	public static void chunkWatched(ServerPlayer player, ServerLevel level, ChunkPos chunk) {
+		PowerNetwork network = INSTANCES.get(level);
+		if (network != null) {
+			network.syncBatcher.sendChunk(player, chunk);
+		}
+	}
+
+	public static void chunkUnloaded(ServerLevel level, ChunkPos chunk) {
+		PowerNetwork network = INSTANCES.get(level);
+		if (network != null) {
+			network.syncBatcher.forgetChunk(chunk);
+		}
+	}
+
+	public static void tickAll(MinecraftServer server) {
+		long allocationStart = allocatedBytes();
+		List<PowerNetwork> networks = TICKING;
+		networks.clear();
+		for (ServerLevel level : server.getAllLevels()) {
+			PowerNetwork network = get(level);
+			network.prepareTick();
+			if (!network.solveQueue.isEmpty()) {
+				networks.add(network);
+			}
+		}
+
+		long budgetNanos = ElectricityServerConfig.powerTickBudgetMicros() * 1000L;
+		if (budgetNanos > 0 && !networks.isEmpty()) {
+			long deadline = System.nanoTime() + budgetNanos;
+			int start = Math.floorMod(budgetCursor++, networks.size());
+			for (int i = 0; i < networks.size(); i++) {
+				if (i > 0 && System.nanoTime() - deadline >= 0) break;
+				networks.get((start + i) % networks.size()).solveQueuedIslands(true, deadline);
+			}
+		} else if (networks.size() > 1 && ElectricityServerConfig.parallelSolve() && ElectricityServerConfig.powerSolver() == PowerSolverMode.BOUNDED) {
+			ElectricityWorkers.computePool().submit(() -> networks.parallelStream().forEach(network -> network.solveQueuedIslands(false, 0L))).join();
+		} else {
+			for (PowerNetwork network : networks) {
+				network.solveQueuedIslands(false, 0L);
+			}
+		}
+
+		for (ServerLevel level : server.getAllLevels()) {
+			get(level).finishTick();
+		}
+		networks.clear();
+		recordAllocations(server, allocationStart);
+	}
+
+	private static void recordAllocations(MinecraftServer server, long allocationStart) {
+		long allocationEnd = allocatedBytes();
+		lastTickAllocatedBytes = allocationStart >= 0 && allocationEnd >= 0 ? allocationEnd - allocationStart : -1L;
+		if (lastTickAllocatedBytes >= 0) {
+			windowAllocatedBytes += lastTickAllocatedBytes;
+			windowTicks++;
+		}
+
+		if (server.getTickCount() % ALLOCATION_REPORT_TICKS != 0) return;
+
+		if (windowTicks > 0) {
+			LOGGER.debug("Power tick allocated {} bytes per tick on the server thread over the last {} ticks", windowAllocatedBytes / windowTicks, windowTicks);
+		}
+		windowAllocatedBytes = 0L;
+		windowTicks = 0;
+	}
+
+	public static void wireAdded(ServerLevel level, WireConnection connection) {
+		PowerNetwork network = find(level);
+		if (network != null) {
+			network.pendingChanges.add(new GraphChange(GraphChangeType.WIRE_ADDED, connection, null));
+		}
 	}
 
-	private void clearNetwork() {
-		powerNodes.clear();
-		powerConnections.clear();
-		nodesByPosition.clear();
-		surgeImpactedNodes.clear();
-		generatorEvents.clear();
+	public static void wireRemoved(ServerLevel level, WireConnection connection) {
+		PowerNetwork network = find(level);
+		if (network != null) {
+			network.pendingChanges.add(new GraphChange(GraphChangeType.WIRE_REMOVED, connection, null));
+		}
+	}
+
+	public static void blockEntityLoaded(BlockEntity blockEntity) {
+		if (blockEntity == null || blockEntity.getLevel() == null || blockEntity.getLevel().isClientSide()) return;
+		PowerNetwork network = find(blockEntity.getLevel());
+		if (network != null) {
+			network.pendingChanges.add(new GraphChange(GraphChangeType.BLOCK_LOADED, null, blockEntity));
+		}
+	}
+
+	public static void blockEntityUnloaded(BlockEntity blockEntity) {
+		if (blockEntity == null || blockEntity.getLevel() == null || blockEntity.getLevel().isClientSide()) return;
+		PowerNetwork network = find(blockEntity.getLevel());
+		if (network != null) {
+			network.pendingChanges.add(new GraphChange(GraphChangeType.BLOCK_UNLOADED, null, blockEntity));
+		}
+	}
+
+	public SolveMetrics getSolveMetrics() {
+		long now = level.getGameTime();
+		long maxStale = 0L;
+		long totalStale = 0L;
+		for (PowerIsland island : solveQueue) {
+			long stale = now - island.staleSinceTick;
+			maxStale = Math.max(maxStale, stale);
+			totalStale += stale;
+		}
+
+		double averageStale = solveQueue.isEmpty() ? 0.0 : (double) totalStale / solveQueue.size();
+		return new SolveMetrics(islands.size(), solveQueue.size(), maxStale, averageStale, lastMaxStaleTicks, lastSolveNanos, lastTickAllocatedBytes);
+	}
+
+	private void prepareTick() {
+		applyPendingChanges();
+		if (ticksUntilSolve > 0) {
+			ticksUntilSolve--;
+			return;
+		}
+
+		int solveInterval = ElectricityServerConfig.powerSolveInterval();
+		ticksUntilSolve = solveInterval - 1;
+		rampTicks = ElectricityServerConfig.interpolatePower() ? solveInterval : 0;
+		rebuildIslands();
+		collectDirtyIslands();
+	}
+
+	private void finishTick() {
+		long now = level.getGameTime();
+		lastMaxStaleTicks = 0L;
+		for (PowerIsland island : solvedIslands) {
+			lastMaxStaleTicks = Math.max(lastMaxStaleTicks, now - island.staleSinceTick);
+			applyIslandSolution(island);
+		}
+
+		solvedIslands.clear();
+		syncToClients();
+
+		if (!solveQueue.isEmpty() && now % 600 == 0) {
+			SolveMetrics metrics = getSolveMetrics();
+			LOGGER.debug("Power solve backlog in {}: {} of {} islands queued, oldest {} ticks stale", level.dimension().location(), metrics.queuedIslands(), metrics.islands(), metrics.maxStaleTicks());
+		}
 	}
 
 	private void buildNetworkFromWires() {
@@ -57,93 +238,367 @@ public class PowerNetwork {
 		for (WireConnection wireConnection : savedData.getAllWireConnections()) {
 			addWireConnection(wireConnection);
 		}
+
+		flushStaleConnections();
+	}
+
+	private void applyPendingChanges() {
+		GraphChange change;
+		while ((change = pendingChanges.poll()) != null) {
+			switch (change.type()) {
+				case WIRE_ADDED -> addWireConnection(change.connection());
+				case WIRE_REMOVED -> removeWireConnection(change.connection());
+				case BLOCK_LOADED -> attachBlockEntity(change.blockEntity());
+				case BLOCK_UNLOADED -> detachBlockEntity(change.blockEntity());
+			}
+		}
+
+		flushStaleConnections();
 	}
 
 	private void addWireConnection(WireConnection wireConnection) {
 		int startId = wireConnection.getStartInsulatorId();
 		int endId = wireConnection.getEndInsulatorId();
+		long connectionKey = WireConnectionMap.key(startId, endId);
+		if (powerConnections.containsKey(connectionKey)) {
+			removeConnection(connectionKey);
+		}
 
 		PowerNode startNode = getOrCreateNode(startId, wireConnection.getStartBlockPos(), wireConnection.getStartBlockType());
 		PowerNode endNode = getOrCreateNode(endId, wireConnection.getEndBlockPos(), wireConnection.getEndBlockType());
 
 		if (startNode != null && endNode != null) {
 			double distance = calculateDistance(startNode.position, endNode.position);
-			String connectionKey = Math.min(startId, endId) + "_" + Math.max(startId, endId);
 
 			PowerConnection connection = new PowerConnection(startNode, endNode, distance, wireConnection.getStartPowerType(), wireConnection.getEndPowerType());
 			powerConnections.put(connectionKey, connection);
+			startNode.connections.add(connection);
+			endNode.connections.add(connection);
+			indexOutgoing(connection);
+			markTopologyChanged(startNode);
+			markTopologyChanged(endNode);
+		} else {
+			pruneNode(startNode);
+			pruneNode(endNode);
 		}
 	}
 
-	private PowerNode getOrCreateNode(int insulatorId, BlockPos blockPos, String blockType) {
-		if (powerNodes.containsKey(insulatorId)) return powerNodes.get(insulatorId);
+	private void removeWireConnection(WireConnection wireConnection) {
+		removeConnection(WireConnectionMap.key(wireConnection));
+	}
 
-		BlockPos immutablePos = blockPos.immutable();
-		BlockEntity blockEntity = level.getBlockEntity(immutablePos);
-		if (blockEntity == null) {
-			LOGGER.warn("Block entity not found at {} for insulator {}", blockPos, insulatorId);
-			removeStaleConnections(insulatorId);
-			return null;
+	private void removeConnection(long connectionKey) {
+		PowerConnection connection = powerConnections.remove(connectionKey);
+		if (connection == null) return;
+
+		connection.startNode.connections.remove(connection);
+		connection.endNode.connections.remove(connection);
+		unindexOutgoing(connection.startNode.insulatorId, connection);
+		unindexOutgoing(connection.endNode.insulatorId, connection);
+		markTopologyChanged(connection.startNode);
+		markTopologyChanged(connection.endNode);
+		pruneNode(connection.startNode);
+		pruneNode(connection.endNode);
+	}
+
+	private void indexOutgoing(PowerConnection connection) {
+		if (isTransferAllowed(connection.startNode, connection.endNode, connection.startPowerType, connection.endPowerType, true)) {
+			outgoingConnections.computeIfAbsent(connection.startNode.insulatorId, id -> new ArrayList<>()).add(connection);
 		}
 
-		boolean typeMatches = false;
-		if ("wind_turbine".equals(blockType) && blockEntity instanceof WindTurbineBlockEntity) {
-			typeMatches = true;
-		} else if ("electric_cabin".equals(blockType) && blockEntity instanceof ElectricCabinBlockEntity) {
-			typeMatches = true;
-		} else if ("utility_pole".equals(blockType) && blockEntity instanceof UtilityPoleBlockEntity) {
-			typeMatches = true;
-		} else if ("power_box".equals(blockType) && blockEntity instanceof PowerBoxBlockEntity) {
-			typeMatches = true;
+		if (isTransferAllowed(connection.endNode, connection.startNode, connection.endPowerType, connection.startPowerType, false)) {
+			outgoingConnections.computeIfAbsent(connection.endNode.insulatorId, id -> new ArrayList<>()).add(connection);
 		}
+	}
+
+	private void unindexOutgoing(int nodeId, PowerConnection connection) {
+		List<PowerConnection> outgoing = outgoingConnections.get(nodeId);
+		if (outgoing == null) return;
+
+		outgoing.remove(connection);
+		if (outgoing.isEmpty()) {
+			outgoingConnections.remove(nodeId);
+		}
+	}
+
+	private void pruneNode(PowerNode node) {
+		if (node == null || !node.connections.isEmpty()) return;
+
+		markTopologyChanged(node);
+		powerNodes.remove(node.insulatorId);
+		List<PowerNode> cluster = nodesByPosition.get(node.position);
+		if (cluster != null) {
+			cluster.remove(node);
+			if (cluster.isEmpty()) {
+				nodesByPosition.remove(node.position);
+			}
+		}
+	}
+
+	private PowerNode getOrCreateNode(int insulatorId, BlockPos blockPos, BlockType blockType) {
+		if (powerNodes.containsKey(insulatorId)) return powerNodes.get(insulatorId);
 
-		if (!typeMatches) {
-			LOGGER.warn("Block type mismatch at {} - client reported {} but server found {}", blockPos, blockType, blockEntity.getClass().getSimpleName());
-			removeStaleConnections(insulatorId);
-			return null;
+		BlockPos immutablePos = blockPos.immutable();
+		BlockEntity blockEntity = null;
+		if (level.isLoaded(immutablePos)) {
+			blockEntity = level.getBlockEntity(immutablePos);
+			if (blockEntity == null) {
+				LOGGER.warn("Block entity not found at {} for insulator {}", blockPos, insulatorId);
+				removeStaleConnections(insulatorId);
+				return null;
+			}
+
+			if (!InsulatorPartHelper.matchesReportedType(blockEntity, blockType)) {
+				LOGGER.warn("Block type mismatch at {} - client reported {} but server found {}", blockPos, blockType, blockEntity.getClass().getSimpleName());
+				removeStaleConnections(insulatorId);
+				return null;
+			}
 		}
 
-		PowerNode node = new PowerNode(insulatorId, immutablePos, blockEntity);
+		PowerNode node = new PowerNode(insulatorId, immutablePos, blockType, blockEntity);
 		powerNodes.put(insulatorId, node);
 		nodesByPosition.computeIfAbsent(immutablePos, pos -> new ArrayList<>()).add(node);
+		unassignedNodes.add(node);
 		return node;
 	}
 
+	private void attachBlockEntity(BlockEntity blockEntity) {
+		if (blockEntity.isRemoved()) return;
+
+		for (int insulatorId : InsulatorPartHelper.getInsulatorIds(blockEntity)) {
+			PowerNode node = powerNodes.get(insulatorId);
+			if (node == null || !node.position.equals(blockEntity.getBlockPos())) continue;
+
+			if (!InsulatorPartHelper.matchesReportedType(blockEntity, node.blockType)) {
+				LOGGER.warn("Block type mismatch at {} - wire expects {} but server found {}", node.position, node.blockType, blockEntity.getClass().getSimpleName());
+				removeStaleConnections(insulatorId);
+				continue;
+			}
+
+			node.blockEntity = blockEntity;
+			markTopologyChanged(node);
+		}
+	}
+
+	private void detachBlockEntity(BlockEntity blockEntity) {
+		for (int insulatorId : InsulatorPartHelper.getInsulatorIds(blockEntity)) {
+			generatorEvents.remove(insulatorId);
+			PowerNode node = powerNodes.get(insulatorId);
+			if (node != null && node.blockEntity == blockEntity) {
+				node.blockEntity = null;
+				node.setPower(0.0);
+				node.setEvent(PowerDeliveryEvent.none());
+				markTopologyChanged(node);
+			}
+		}
+	}
+
 	private void removeStaleConnections(int insulatorId) {
 		if (insulatorId <= 0) return;
-		wireManager.removeConnectionsForInsulators(level, new int[]{insulatorId});
+		staleInsulators.add(insulatorId);
+	}
+
+	private void flushStaleConnections() {
+		if (staleInsulators.isEmpty()) return;
+
+		int[] insulatorIds = staleInsulators.toIntArray();
+		staleInsulators.clear();
+		wireManager.removeConnectionsForInsulators(level, insulatorIds);
+	}
+
+	private void markTopologyChanged(PowerNode node) {
+		if (node != null && node.island != null) {
+			islandsToRebuild.add(node.island);
+		}
+	}
+
+	private void rebuildIslands() {
+		if (islandsToRebuild.isEmpty() && unassignedNodes.isEmpty()) return;
+
+		List<PowerNode> seeds = new ArrayList<>(unassignedNodes);
+		unassignedNodes.clear();
+		for (PowerIsland island : islandsToRebuild) {
+			seeds.addAll(island.nodes);
+			dissolveIsland(island);
+		}
+		islandsToRebuild.clear();
+
+		for (PowerNode seed : seeds) {
+			if (seed.island != null || powerNodes.get(seed.insulatorId) != seed) continue;
+			islands.add(new PowerIsland(floodComponent(seed)));
+		}
+	}
+
+	private void dissolveIsland(PowerIsland island) {
+		if (!islands.remove(island)) return;
+
+		island.retired = true;
+		for (int i = 0; i < island.positions.size(); i++) {
+			if (island.isSynced(i)) {
+				orphanedPositions.add(island.positions.get(i));
+			}
+		}
+
+		for (PowerNode node : island.nodes) {
+			if (node.island == island) {
+				node.island = null;
+			}
+		}
+	}
+
+	private List<PowerNode> floodComponent(PowerNode seed) {
+		List<PowerNode> component = new ArrayList<>();
+		Set<PowerNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<PowerNode> stack = new ArrayDeque<>();
+		visitComponentNode(seed, visited, component, stack);
+
+		while (!stack.isEmpty()) {
+			PowerNode node = stack.pop();
+			for (PowerNode colocated : nodesByPosition.getOrDefault(node.position, Collections.emptyList())) {
+				visitComponentNode(colocated, visited, component, stack);
+			}
+
+			for (PowerConnection connection : node.connections) {
+				visitComponentNode(connection.getOtherNode(node), visited, component, stack);
+			}
+		}
+
+		return component;
+	}
+
+	private void visitComponentNode(PowerNode node, Set<PowerNode> visited, List<PowerNode> component, Deque<PowerNode> stack) {
+		if (!visited.add(node)) return;
+		if (node.island != null) {
+			dissolveIsland(node.island);
+			node.island = null;
+		}
+
+		component.add(node);
+		stack.push(node);
 	}
 
 	private double calculateDistance(BlockPos pos1, BlockPos pos2) {
 		return Math.sqrt(pos1.distSqr(pos2));
 	}
 
-	private void calculatePowerFlow() {
-		Map<Integer, Double> nodePower = new HashMap<>();
-		nodeEvents.clear();
+	private void collectDirtyIslands() {
+		long now = level.getGameTime();
+		double tolerance = ElectricityServerConfig.powerSyncEpsilon();
+		int solveInterval = ElectricityServerConfig.powerSolveInterval();
+
+		// Turbine output drifts a little every tick and quiet fault rolls only
+		// vary in severity; neither can change what consumers do, so drift
+		// within the sync epsilon and quiet events do not dirty the island.
+		for (PowerIsland island : islands) {
+			boolean changed = island.dirty;
+			for (int i = 0; i < island.generators.size(); i++) {
+				PowerNode node = island.generators.get(i);
+				double generatedPower = node.getOutputPower();
+				PowerDeliveryEvent generatorEvent = generatedPower > 0 ? createGeneratorEvent((WindTurbineBlockEntity) node.blockEntity, now, solveInterval) : PowerDeliveryEvent.none();
+				changed |= island.setInput(i, generatedPower, node.hasLocalSurge(), generatorEvent, tolerance);
+			}
+
+			if (!changed) continue;
+
+			for (int i = 0; i < island.generators.size(); i++) {
+				island.setInputPower(i, island.generators.get(i).getOutputPower());
+			}
+
+			island.dirty = true;
+			if (!island.queued) {
+				island.queued = true;
+				island.staleSinceTick = now;
+				solveQueue.add(island);
+			}
+		}
+	}
+
+	private void solveQueuedIslands(boolean budgeted, long deadline) {
+		if (solveQueue.isEmpty()) return;
+
+		long start = System.nanoTime();
+		PowerSolverMode solverMode = ElectricityServerConfig.powerSolver();
+		boolean parallel = solverMode == PowerSolverMode.BOUNDED && ElectricityServerConfig.parallelSolve();
+		int batchSize = !budgeted ? Integer.MAX_VALUE : parallel ? ElectricityWorkers.computePool().getParallelism() : 1;
+
+		while (!solveQueue.isEmpty()) {
+			if (budgeted && !solvedIslands.isEmpty() && System.nanoTime() - deadline >= 0) break;
+
+			List<PowerIsland> batch = pollSolveBatch(batchSize);
+			if (batch.isEmpty()) break;
+
+			if (parallel && batch.size() > 1) {
+				ElectricityWorkers.computePool().submit(() -> batch.parallelStream().forEach(island -> solveIsland(island, boundedSolvers.get()))).join();
+			} else {
+				for (PowerIsland island : batch) {
+					if (solverMode == PowerSolverMode.BOUNDED) {
+						solveIsland(island, boundedSolvers.get());
+					} else {
+						solveIslandLegacy(island);
+					}
+				}
+			}
+
+			solvedIslands.addAll(batch);
+		}
 
-		for (PowerNode node : powerNodes.values()) {
-			if (!(node.blockEntity instanceof WindTurbineBlockEntity)) continue;
+		lastSolveNanos = System.nanoTime() - start;
+	}
 
-			double generatedPower = node.getOutputPower();
+	private List<PowerIsland> pollSolveBatch(int batchSize) {
+		List<PowerIsland> batch = solveBatch;
+		batch.clear();
+		while (batch.size() < batchSize && !solveQueue.isEmpty()) {
+			PowerIsland island = solveQueue.poll();
+			island.queued = false;
+			if (!island.retired) {
+				batch.add(island);
+			}
+		}
+
+		return batch;
+	}
+
+	private static void solveIsland(PowerIsland island, BoundedPowerSolver solver) {
+		island.clearSolution();
+
+		for (int i = 0; i < island.generators.size(); i++) {
+			double generatedPower = island.inputPower(i);
 			if (generatedPower <= 0) continue;
 
-			PowerDeliveryEvent generatorEvent = createGeneratorEvent((WindTurbineBlockEntity) node.blockEntity);
-			Map<Integer, Double> powerDistribution = distributePower(node.insulatorId, generatedPower, new HashSet<>(), true, node.hasLocalSurge(), generatorEvent, nodeEvents);
-			for (Map.Entry<Integer, Double> entry : powerDistribution.entrySet()) {
-				nodePower.merge(entry.getKey(), entry.getValue(), Double::sum);
+			solver.solve(island, island.generators.get(i), generatedPower, island.inputSurge(i), island.inputEvent(i));
+		}
+	}
+
+	private void solveIslandLegacy(PowerIsland island) {
+		island.clearSolution();
+
+		for (int i = 0; i < island.generators.size(); i++) {
+			double generatedPower = island.inputPower(i);
+			if (generatedPower <= 0) continue;
+
+			Int2DoubleOpenHashMap powerDistribution = distributePower(island, island.generators.get(i).insulatorId, generatedPower, new IntOpenHashSet(), true, island.inputSurge(i), island.inputEvent(i));
+			for (Int2DoubleMap.Entry entry : powerDistribution.int2DoubleEntrySet()) {
+				PowerNode node = powerNodes.get(entry.getIntKey());
+				if (node != null && node.island == island) {
+					island.power[node.islandIndex] += entry.getDoubleValue();
+				}
 			}
 		}
+	}
 
-		for (PowerNode node : powerNodes.values()) {
-			double power = nodePower.getOrDefault(node.insulatorId, 0.0);
-			node.setPower(power);
-			node.setEvent(nodeEvents.getOrDefault(node.insulatorId, PowerDeliveryEvent.none()));
+	private static void applyIslandSolution(PowerIsland island) {
+		for (PowerNode node : island.nodes) {
+			node.setPower(island.power[node.islandIndex]);
+			node.setEvent(island.events[node.islandIndex]);
 		}
+
+		island.dirty = false;
+		island.needsSync = true;
 	}
 
-	private Map<Integer, Double> distributePower(int fromNodeId, double availablePower, Set<Integer> visited, boolean generationAlreadyIncluded, boolean surgeActive, PowerDeliveryEvent incomingEvent, Map<Integer, PowerDeliveryEvent> eventOut) {
-		Map<Integer, Double> distribution = new HashMap<>();
+	private Int2DoubleOpenHashMap distributePower(PowerIsland island, int fromNodeId, double availablePower, IntOpenHashSet visited, boolean generationAlreadyIncluded, boolean surgeActive, PowerDeliveryEvent incomingEvent) {
+		Int2DoubleOpenHashMap distribution = new Int2DoubleOpenHashMap();
 		if (availablePower <= 0) return distribution;
 
 		PowerNode startNode = powerNodes.get(fromNodeId);
@@ -161,16 +616,16 @@ public class PowerNetwork {
 		List<PowerNode> clusterNodes = nodesByPosition.getOrDefault(startNode.position, Collections.singletonList(startNode));
 		if (isClusterVisited(clusterNodes, visited)) return distribution;
 
-		Set<Integer> clusterIds = new HashSet<>();
+		IntOpenHashSet clusterIds = new IntOpenHashSet();
 		for (PowerNode node : clusterNodes) {
 			visited.add(node.insulatorId);
 			clusterIds.add(node.insulatorId);
 			distribution.put(node.insulatorId, totalPower);
 			if (localSurge) {
-				surgeImpactedNodes.add(node.insulatorId);
+				island.surge[node.islandIndex] = true;
 			}
 
-			eventOut.merge(node.insulatorId, currentEvent, this::mergeEvents);
+			island.events[node.islandIndex] = mergeEvents(island.events[node.islandIndex], currentEvent);
 		}
 
 		List<ClusterConnection> externalConnections = collectExternalConnections(clusterNodes, clusterIds);
@@ -194,15 +649,15 @@ public class PowerNetwork {
 			if (deliveredPower <= 0) continue;
 
 			PowerNode target = group.targetNode;
-			distribution.merge(target.insulatorId, deliveredPower, Double::max);
+			distribution.mergeDouble(target.insulatorId, deliveredPower, Math::max);
 			PowerDeliveryEvent propagatedEvent = attenuateEvent(currentEvent, group.computeEfficiency());
-			eventOut.merge(target.insulatorId, propagatedEvent, this::mergeEvents);
+			island.events[target.islandIndex] = mergeEvents(island.events[target.islandIndex], propagatedEvent);
 
-			Map<Integer, Double> subDistribution = distributePower(target.insulatorId, deliveredPower, new HashSet<>(visited), false, localSurge || target.hasLocalSurge(), propagatedEvent, eventOut);
-			for (Map.Entry<Integer, Double> entry : subDistribution.entrySet()) {
-				if (!clusterIds.contains(entry.getKey())) {
-					double finalPower = Math.min(entry.getValue(), deliveredPower);
-					distribution.merge(entry.getKey(), finalPower, Double::max);
+			Int2DoubleOpenHashMap subDistribution = distributePower(island, target.insulatorId, deliveredPower, new IntOpenHashSet(visited), false, localSurge || target.hasLocalSurge(), propagatedEvent);
+			for (Int2DoubleMap.Entry entry : subDistribution.int2DoubleEntrySet()) {
+				if (!clusterIds.contains(entry.getIntKey())) {
+					double finalPower = Math.min(entry.getDoubleValue(), deliveredPower);
+					distribution.mergeDouble(entry.getIntKey(), finalPower, Math::max);
 				}
 			}
 		}
@@ -210,16 +665,34 @@ public class PowerNetwork {
 		return distribution;
 	}
 
-	private PowerDeliveryEvent createGeneratorEvent(WindTurbineBlockEntity turbine) {
+	private PowerDeliveryEvent createGeneratorEvent(WindTurbineBlockEntity turbine, long now, int maxTicks) {
 		int id = turbine.getInsulatorId(0);
 		GeneratorEvent state = generatorEvents.get(id);
-		if (state != null && state.remaining > 0) {
-			int nextRemaining = state.remaining - 1;
-			generatorEvents.put(id, new GeneratorEvent(state.severity, nextRemaining, state.disconnect, state.brownout));
-			return new PowerDeliveryEvent(state.severity, nextRemaining, state.disconnect, state.brownout);
+		if (state == null) {
+			state = new GeneratorEvent();
+			generatorEvents.put(id, state);
 		}
 
-		WeatherSnapshot weather = GlobalWeatherManager.get(level).sample(turbine.getBlockPos());
+		// Faults count down and roll once per game tick, so replay every tick
+		// since this turbine was last solved rather than a single step.
+		int ticks = state.lastTick < 0 ? 1 : (int) Mth.clamp(now - state.lastTick, 1L, maxTicks);
+		state.lastTick = now;
+
+		WeatherSnapshot weather = null;
+		for (int tick = 0; tick < ticks; tick++) {
+			if (state.remaining > 0) {
+				state.remaining--;
+				continue;
+			}
+
+			if (weather == null) weather = turbine.sampleWeather(level);
+			rollGeneratorEvent(state, weather);
+		}
+
+		return new PowerDeliveryEvent(state.severity, state.remaining, state.disconnect, state.brownout);
+	}
+
+	private void rollGeneratorEvent(GeneratorEvent state, WeatherSnapshot weather) {
 		double turbulence = weather.turbulence();
 		double windSpeed = weather.windSpeed();
 		var random = level.getRandom();
@@ -240,17 +713,14 @@ public class PowerNetwork {
 			}
 		}
 
-		if (duration > 0 || disconnect || brownout < 1.0) {
-			generatorEvents.put(id, new GeneratorEvent(severity, duration, disconnect, brownout));
-		} else {
-			generatorEvents.remove(id);
-		}
-
-		return new PowerDeliveryEvent(severity, duration, disconnect, brownout);
+		state.severity = severity;
+		state.remaining = duration;
+		state.disconnect = disconnect;
+		state.brownout = brownout;
 	}
 
-	private PowerDeliveryEvent attenuateEvent(PowerDeliveryEvent event, double efficiency) {
-		if (event == null) return PowerDeliveryEvent.none();
+	static PowerDeliveryEvent attenuateEvent(PowerDeliveryEvent event, double efficiency) {
+		if (event == null || event == PowerDeliveryEvent.none()) return PowerDeliveryEvent.none();
 		double severity = event.surgeSeverity() * Mth.clamp(efficiency, 0.0, 1.0) * 0.95;
 		int duration = event.surgeDuration() > 0 ? Math.max(0, event.surgeDuration() - 1) : 0;
 		boolean ifDisconnect = event.disconnectActive() && duration > 0;
@@ -258,9 +728,9 @@ public class PowerNetwork {
 		return new PowerDeliveryEvent(severity, duration, ifDisconnect, brownout);
 	}
 
-	private PowerDeliveryEvent mergeEvents(PowerDeliveryEvent a, PowerDeliveryEvent b) {
-		if (a == null) return b == null ? PowerDeliveryEvent.none() : b;
-		if (b == null) return a;
+	static PowerDeliveryEvent mergeEvents(PowerDeliveryEvent a, PowerDeliveryEvent b) {
+		if (a == null || a == PowerDeliveryEvent.none()) return b == null ? PowerDeliveryEvent.none() : b;
+		if (b == null || b == PowerDeliveryEvent.none() || a.equals(b)) return a;
 		double severity = Math.max(a.surgeSeverity(), b.surgeSeverity());
 		int duration = Math.max(a.surgeDuration(), b.surgeDuration());
 		boolean ifDisconnect = a.disconnectActive() || b.disconnectActive();
@@ -268,20 +738,27 @@ public class PowerNetwork {
 		return new PowerDeliveryEvent(severity, duration, ifDisconnect, brownout);
 	}
 
-	private record GeneratorEvent(double severity, int remaining, boolean disconnect, double brownout) {
+	private static final class GeneratorEvent {
+		double severity;
+		int remaining;
+		boolean disconnect;
+		double brownout = 1.0;
+		long lastTick = -1L;
 	}
 
-	private List<ClusterConnection> collectExternalConnections(List<PowerNode> clusterNodes, Set<Integer> clusterIds) {
+	private List<ClusterConnection> collectExternalConnections(List<PowerNode> clusterNodes, IntOpenHashSet clusterIds) {
 		List<ClusterConnection> connections = new ArrayList<>();
 		Set<PowerConnection> seenConnections = Collections.newSetFromMap(new IdentityHashMap<>());
 
 		for (PowerNode node : clusterNodes) {
+			if (!node.isAttached()) continue;
+
 			List<PowerConnection> outgoing = getOutgoingConnections(node.insulatorId);
 			for (PowerConnection connection : outgoing) {
 				if (!seenConnections.add(connection)) continue;
 
 				PowerNode other = connection.getOtherNode(node);
-				if (clusterIds.contains(other.insulatorId)) continue;
+				if (!other.isAttached() || clusterIds.contains(other.insulatorId)) continue;
 
 				connections.add(new ClusterConnection(connection, node));
 			}
@@ -305,34 +782,15 @@ public class PowerNetwork {
 	}
 
 	private List<PowerConnection> getOutgoingConnections(int fromNodeId) {
-		List<PowerConnection> connections = new ArrayList<>();
-		for (PowerConnection connection : powerConnections.values()) {
-			if (connection.startNode.insulatorId == fromNodeId) {
-				boolean sameBlockPos = connection.startNode.position.equals(connection.endNode.position);
-				if (!canTransfer(connection.startNode, connection.endNode)) continue;
-
-				if ("output".equals(connection.startPowerType) && ("input".equals(connection.endPowerType) || "bidirectional".equals(connection.endPowerType))) {
-					connections.add(connection);
-				} else if ("bidirectional".equals(connection.startPowerType) && ("input".equals(connection.endPowerType) || "bidirectional".equals(connection.endPowerType))) {
-					connections.add(connection);
-				} else if (sameBlockPos && "input".equals(connection.startPowerType) && "output".equals(connection.endPowerType)) {
-					connections.add(connection);
-				}
-			} else if (connection.endNode.insulatorId == fromNodeId) {
-				boolean sameBlockPos = connection.startNode.position.equals(connection.endNode.position);
-				if (!canTransfer(connection.endNode, connection.startNode)) continue;
-
-				if ("output".equals(connection.endPowerType) && ("input".equals(connection.startPowerType) || "bidirectional".equals(connection.startPowerType))) {
-					connections.add(connection);
-				} else if ("bidirectional".equals(connection.endPowerType) && ("input".equals(connection.startPowerType) || "bidirectional".equals(connection.startPowerType))) {
-					connections.add(connection);
-				} else if (sameBlockPos && "output".equals(connection.endPowerType) && "input".equals(connection.startPowerType)) {
-					connections.add(connection);
-				}
-			}
-		}
+		return outgoingConnections.getOrDefault(fromNodeId, Collections.emptyList());
+	}
 
-		return connections;
+	private static boolean isTransferAllowed(PowerNode from, PowerNode to, PowerType fromPowerType, PowerType toPowerType, boolean fromIsStart) {
+		if (!from.blockType.canTransferTo(to.blockType)) return false;
+		if (fromPowerType.canSend() && toPowerType.canReceive()) return true;
+
+		boolean sameBlockPos = from.position.equals(to.position);
+		return fromIsStart && sameBlockPos && fromPowerType == PowerType.INPUT && toPowerType == PowerType.OUTPUT;
 	}
 
 	public double getPowerForInsulator(int insulatorId) {
@@ -341,50 +799,77 @@ public class PowerNetwork {
 	}
 
 	public void syncToClients() {
-		Map<BlockPos, Double> blockPower = new HashMap<>();
-		Map<BlockPos, PowerNode> representatives = new HashMap<>();
-		Map<BlockPos, PowerDeliveryEvent> blockEvents = new HashMap<>();
-		Set<BlockPos> updatedPositions = new HashSet<>();
+		int keyframeTicks = ElectricityServerConfig.powerKeyframeSeconds() * 20;
+		boolean keyframe = keyframeTicks > 0 && level.getGameTime() % keyframeTicks == 0;
+		for (PowerIsland island : islands) {
+			if (!island.needsSync && !keyframe) continue;
 
-		for (PowerNode node : powerNodes.values()) {
-			blockPower.merge(node.position, node.power, Double::max);
-			representatives.putIfAbsent(node.position, node);
-			blockEvents.merge(node.position, node.event, this::mergeEvents);
+			syncIsland(island, keyframe);
+			island.needsSync = false;
 		}
 
-		for (Map.Entry<BlockPos, Double> entry : blockPower.entrySet()) {
-			double power = entry.getValue();
-			BlockPos position = entry.getKey();
-			PowerNode representative = representatives.get(position);
-			PowerDeliveryEvent event = blockEvents.getOrDefault(position, PowerDeliveryEvent.none());
+		for (BlockPos stalePos : orphanedPositions) {
+			if (isPositionSynced(stalePos) || !level.isLoaded(stalePos)) continue;
+
+			applyPower(level.getBlockEntity(stalePos), 0.0, PowerDeliveryEvent.none(), 0);
+			syncBatcher.queue(stalePos, 0.0, false);
+			syncBatcher.forget(stalePos);
+		}
 
-			if (representative != null) {
-				representative.syncToClient(power, event);
+		orphanedPositions.clear();
+		syncBatcher.flush();
+	}
+
+	private void syncIsland(PowerIsland island, boolean keyframe) {
+		int positionCount = island.positions.size();
+		Arrays.fill(island.syncPower, 0.0);
+		Arrays.fill(island.syncEvent, PowerDeliveryEvent.none());
+		Arrays.fill(island.syncRepresentative, null);
+
+		for (PowerNode node : island.nodes) {
+			if (!node.isAttached()) continue;
+
+			int position = node.islandPosition;
+			if (island.syncRepresentative[position] == null) {
+				island.syncRepresentative[position] = node;
+				island.syncPower[position] = node.power;
 			} else {
-				applyPower(level.getBlockEntity(position), power, event);
+				island.syncPower[position] = Math.max(island.syncPower[position], node.power);
 			}
-
-			ElectricityNetworking.sendPowerUpdate(level, position, power);
-			updatedPositions.add(position);
+			island.syncEvent[position] = mergeEvents(island.syncEvent[position], node.event);
 		}
 
-		Set<BlockPos> stalePositions = new HashSet<>(lastSyncedPower.keySet());
-		stalePositions.removeAll(updatedPositions);
+		for (int position = 0; position < positionCount; position++) {
+			PowerNode representative = island.syncRepresentative[position];
+			if (representative == null) {
+				if (island.isSynced(position)) {
+					orphanedPositions.add(island.positions.get(position));
+					island.setSynced(position, false);
+				}
+				continue;
+			}
+
+			double power = island.syncPower[position];
+			if (!island.markApplied(position, power, island.syncEvent[position]) && !keyframe) continue;
 
-		for (BlockPos stalePos : stalePositions) {
-			applyPower(level.getBlockEntity(stalePos), 0.0, PowerDeliveryEvent.none());
-			ElectricityNetworking.sendPowerUpdate(level, stalePos, 0.0);
+			representative.syncToClient(power, island.syncEvent[position], rampTicks);
+			syncBatcher.queue(representative.position, power, keyframe);
 		}
+	}
+
+	private boolean isPositionSynced(BlockPos position) {
+		List<PowerNode> cluster = nodesByPosition.get(position);
+		if (cluster == null || cluster.isEmpty()) return false;
 
-		lastSyncedPower.clear();
-		lastSyncedPower.putAll(blockPower);
+		PowerNode node = cluster.get(0);
+		return node.island != null && !node.island.retired && node.island.isSynced(node.islandPosition);
 	}
 
-	private boolean isClusterVisited(BlockPos position, Set<Integer> visitedIds) {
+	private boolean isClusterVisited(BlockPos position, IntOpenHashSet visitedIds) {
 		return isClusterVisited(nodesByPosition.get(position), visitedIds);
 	}
 
-	private boolean isClusterVisited(List<PowerNode> clusterNodes, Set<Integer> visitedIds) {
+	private boolean isClusterVisited(List<PowerNode> clusterNodes, IntOpenHashSet visitedIds) {
 		if (clusterNodes == null || clusterNodes.isEmpty()) return false;
 
 		for (PowerNode node : clusterNodes) {
@@ -393,7 +878,7 @@ public class PowerNetwork {
 		return true;
 	}
 
-	private static void applyPower(BlockEntity blockEntity, double power, PowerDeliveryEvent event) {
+	private static void applyPower(BlockEntity blockEntity, double power, PowerDeliveryEvent event, int rampTicks) {
 		if (blockEntity == null) return;
 		if (blockEntity instanceof WindTurbineBlockEntity turbine) {
 			turbine.setCurrentPower(power);
@@ -402,24 +887,53 @@ public class PowerNetwork {
 		} else if (blockEntity instanceof UtilityPoleBlockEntity pole) {
 			pole.setCurrentPower(power);
 		} else if (blockEntity instanceof PowerBoxBlockEntity powerBox) {
-			powerBox.setCurrentPower(power);
+			powerBox.setSuppliedPower(power, rampTicks);
 			powerBox.setIncomingEvent(event);
 		}
 	}
 
-	private static class PowerNode {
+	public record SolveMetrics(int islands, int queuedIslands, long maxStaleTicks, double averageStaleTicks, long lastSolvedMaxStaleTicks, long lastSolveNanos, long lastTickAllocatedBytes) {
+	}
+
+	private static long allocatedBytes() {
+		if (THREAD_BEAN == null || !THREAD_BEAN.isThreadAllocatedMemoryEnabled()) return -1L;
+		return THREAD_BEAN.getCurrentThreadAllocatedBytes();
+	}
+
+	private enum GraphChangeType {
+		WIRE_ADDED, WIRE_REMOVED, BLOCK_LOADED, BLOCK_UNLOADED
+	}
+
+	private record GraphChange(GraphChangeType type, WireConnection connection, BlockEntity blockEntity) {
+	}
+
+	static class PowerNode {
 		final int insulatorId;
 		final BlockPos position;
-		final BlockEntity blockEntity;
+		final BlockType blockType;
+		final List<PowerConnection> connections = new ArrayList<>();
+		BlockEntity blockEntity;
+		PowerIsland island;
+		int islandIndex;
+		int islandPosition;
 		double power = 0.0;
 		private PowerDeliveryEvent event = PowerDeliveryEvent.none();
 
-		PowerNode(int insulatorId, BlockPos position, BlockEntity blockEntity) {
+		PowerNode(int insulatorId, BlockPos position, BlockType blockType, BlockEntity blockEntity) {
 			this.insulatorId = insulatorId;
 			this.position = position;
+			this.blockType = blockType;
 			this.blockEntity = blockEntity;
 		}
 
+		boolean isAttached() {
+			return blockEntity != null;
+		}
+
+		boolean isGenerator() {
+			return blockEntity instanceof WindTurbineBlockEntity;
+		}
+
 		double getOutputPower() {
 			if (blockEntity instanceof WindTurbineBlockEntity turbine) return turbine.getGeneratedPower();
 			return power;
@@ -441,19 +955,19 @@ public class PowerNetwork {
 			this.event = event != null ? event : PowerDeliveryEvent.none();
 		}
 
-		void syncToClient(double syncedPower, PowerDeliveryEvent event) {
-			applyPower(blockEntity, syncedPower, event);
+		void syncToClient(double syncedPower, PowerDeliveryEvent event, int rampTicks) {
+			applyPower(blockEntity, syncedPower, event, rampTicks);
 		}
 	}
 
-	private static class PowerConnection {
+	static class PowerConnection {
 		final PowerNode startNode;
 		final PowerNode endNode;
 		final double distance;
-		final String startPowerType;
-		final String endPowerType;
+		final PowerType startPowerType;
+		final PowerType endPowerType;
 
-		PowerConnection(PowerNode startNode, PowerNode endNode, double distance, String startPowerType, String endPowerType) {
+		PowerConnection(PowerNode startNode, PowerNode endNode, double distance, PowerType startPowerType, PowerType endPowerType) {
 			this.startNode = startNode;
 			this.endNode = endNode;
 			this.distance = distance;
@@ -476,26 +990,7 @@ public class PowerNetwork {
 		}
 	}
 
-	private boolean canTransfer(PowerNode from, PowerNode to) {
-		BlockEntity a = from.blockEntity;
-		BlockEntity b = to.blockEntity;
-
-		if (a instanceof WindTurbineBlockEntity) {
-			return b instanceof ElectricCabinBlockEntity || b instanceof WindTurbineBlockEntity;
-		}
-
-		if (a instanceof ElectricCabinBlockEntity) {
-			return b instanceof UtilityPoleBlockEntity;
-		}
-
-		if (a instanceof UtilityPoleBlockEntity) {
-			return b instanceof UtilityPoleBlockEntity || b instanceof PowerBoxBlockEntity;
-		}
-
-		return false;
-	}
-
-	private static class TargetGroup {
+	static class TargetGroup {
 		final PowerNode targetNode;
 		private double totalDistance = 0.0;
 		private int wireCount = 0;
@@ -510,6 +1005,10 @@ public class PowerNetwork {
 		}
 
 		double computeEfficiency() {
+			return computeEfficiency(totalDistance, wireCount);
+		}
+
+		static double computeEfficiency(double totalDistance, int wireCount) {
 			if (wireCount == 0) return 0.0;
 
 			double averageDistance = totalDistance / wireCount;
@@ -0,0 +1,5 @@
+package com.dooji.electricity.main.power;
+
+public enum PowerSolverMode {
+	LEGACY, BOUNDED
+}
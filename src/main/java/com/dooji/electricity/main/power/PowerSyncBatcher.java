@@ -0,0 +1,116 @@
+package com.dooji.electricity.main.power;
+
+import com.dooji.electricity.main.ElectricityServerConfig;
+import com.dooji.electricity.main.network.ElectricityNetworking;
+import com.dooji.electricity.main.network.payloads.PowerChunkUpdatePayload;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+/**
+ * Collects the power values a level syncs during a tick and sends them as one
+ * packet per chunk. Values are quantized to float, and a position is only sent
+ * again once it has moved more than the configured epsilon from what its
+ * trackers last received, except that dropping to zero and keyframes are
+ * always sent. Sent values are kept per chunk for as long as the chunk is
+ * loaded, so a player that starts tracking a chunk can be sent them directly.
+ * Each loaded chunk keeps its batch buffers between ticks.
+ */
+final class PowerSyncBatcher {
+	private final ServerLevel level;
+	private final Long2ObjectOpenHashMap<Long2FloatOpenHashMap> sentPower = new Long2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<Batch> batches = new Long2ObjectOpenHashMap<>();
+
+	PowerSyncBatcher(ServerLevel level) {
+		this.level = level;
+	}
+
+	void queue(BlockPos position, double power, boolean keyframe) {
+		long key = position.asLong();
+		long chunkKey = ChunkPos.asLong(position);
+		float quantized = (float) power;
+		Long2FloatOpenHashMap sentInChunk = sentPower.get(chunkKey);
+		if (!keyframe && sentInChunk != null && sentInChunk.containsKey(key)) {
+			float sent = sentInChunk.get(key);
+			boolean settledToZero = quantized == 0.0f && sent != 0.0f;
+			if (!settledToZero && Math.abs(sent - quantized) <= ElectricityServerConfig.powerSyncEpsilon()) return;
+		}
+
+		if (sentInChunk == null) {
+			sentInChunk = new Long2FloatOpenHashMap();
+			sentPower.put(chunkKey, sentInChunk);
+		}
+		sentInChunk.put(key, quantized);
+		batches.computeIfAbsent(chunkKey, chunk -> new Batch()).add(key, quantized);
+	}
+
+	void forget(BlockPos position) {
+		long chunkKey = ChunkPos.asLong(position);
+		Long2FloatOpenHashMap sentInChunk = sentPower.get(chunkKey);
+		if (sentInChunk == null) return;
+
+		sentInChunk.remove(position.asLong());
+		if (sentInChunk.isEmpty()) {
+			sentPower.remove(chunkKey);
+		}
+	}
+
+	void forgetChunk(ChunkPos chunk) {
+		sentPower.remove(chunk.toLong());
+		batches.remove(chunk.toLong());
+	}
+
+	void sendChunk(ServerPlayer player, ChunkPos chunk) {
+		Long2FloatOpenHashMap sentInChunk = sentPower.get(chunk.toLong());
+		if (sentInChunk == null || sentInChunk.isEmpty()) return;
+
+		ElectricityNetworking.sendToClient(player, new PowerChunkUpdatePayload(chunk, sentInChunk.keySet().toLongArray(), sentInChunk.values().toFloatArray()));
+	}
+
+	void flush() {
+		if (batches.isEmpty()) return;
+
+		for (Long2ObjectMap.Entry<Batch> entry : batches.long2ObjectEntrySet()) {
+			Batch batch = entry.getValue();
+			if (batch.isEmpty()) continue;
+
+			long chunkKey = entry.getLongKey();
+			LevelChunk chunk = level.getChunkSource().getChunkNow(ChunkPos.getX(chunkKey), ChunkPos.getZ(chunkKey));
+			if (chunk != null) {
+				ElectricityNetworking.sendPowerUpdate(chunk, new PowerChunkUpdatePayload(chunk.getPos(), batch.positions.toLongArray(), batch.powers.toFloatArray()));
+			}
+			batch.clear();
+		}
+	}
+
+	void clear() {
+		sentPower.clear();
+		batches.clear();
+	}
+
+	private static final class Batch {
+		private final LongArrayList positions = new LongArrayList();
+		private final FloatArrayList powers = new FloatArrayList();
+
+		void add(long position, float power) {
+			positions.add(position);
+			powers.add(power);
+		}
+
+		boolean isEmpty() {
+			return positions.isEmpty();
+		}
+
+		void clear() {
+			positions.clear();
+			powers.clear();
+		}
+	}
+}
@@ -1,17 +1,25 @@
 package com.dooji.electricity.main.weather;
 
+import com.dooji.electricity.main.AsyncSavedData;
+import com.dooji.electricity.main.ElectricityServerConfig;
+import com.dooji.electricity.main.ElectricityWorkers;
+import it.unimi.dsi.fastutil.longs.Long2DoubleLinkedOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
-import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.world.level.levelgen.Heightmap;
 
 public final class GlobalWeatherManager {
@@ -22,51 +30,23 @@ public final class GlobalWeatherManager {
 	private static final int PRUNE_INTERVAL = 400;
 	private static final long PRUNE_AGE_TICKS = 24000;
 	private static final long ACTIVE_AGE_TICKS = 2400;
+	private static final long CLIMATE_REFRESH_TICKS = 6000;
+	private static final int TARGET_CACHE_SIZE = 4096;
 	private static final double WIND_MIN = 0.2;
 	private static final double WIND_MAX = 24.0;
+	private static final int FIELD_WIND = 0;
+	private static final int FIELD_TURBULENCE = 1;
+	private static final int FIELD_STORM = 2;
 	private final ServerLevel level;
-	private final Map<Long, WeatherCell> cells = new ConcurrentHashMap<>();
+	private final WeatherGrid grid = new WeatherGrid();
+	private final Long2DoubleLinkedOpenHashMap targetCache = new Long2DoubleLinkedOpenHashMap(TARGET_CACHE_SIZE);
 	private int tickCounter = 0;
+	private long stepCount = 0L;
 	private final float flowDirectionSeed;
 	private float flowDirection;
 	private final WeatherSavedData savedData;
-	private static final ToDoubleFunction<WeatherCell> WIND_EXTRACTOR = c -> c.windSpeed;
-	private static final ToDoubleFunction<WeatherCell> GUST_EXTRACTOR = WeatherCell::gustSpeed;
-	private static final ToDoubleFunction<WeatherCell> TURB_EXTRACTOR = c -> c.turbulence;
-	private static final ToDoubleFunction<WeatherCell> STORM_EXTRACTOR = c -> c.stormIntensity;
-
-	private static final class WeatherCell {
-		double windSpeed;
-		double targetWindSpeed;
-		double turbulence;
-		float direction;
-		double stormIntensity;
-		double moistureStore;
-		long lastTouched;
-		final long seed;
-		final int zoneX;
-		final int zoneZ;
-		final double phase;
-
-		WeatherCell(long seed, int zoneX, int zoneZ, float direction, double windSpeed, double turbulence, double phase, double stormIntensity, double moistureStore) {
-			this.seed = seed;
-			this.zoneX = zoneX;
-			this.zoneZ = zoneZ;
-			this.direction = direction;
-			this.windSpeed = windSpeed;
-			this.targetWindSpeed = windSpeed;
-			this.turbulence = turbulence;
-			this.phase = phase;
-			this.stormIntensity = stormIntensity;
-			this.moistureStore = moistureStore;
-			this.lastTouched = 0L;
-		}
-
-		double gustSpeed() {
-			double gustFactor = 1.0 + turbulence * 0.9;
-			return windSpeed * gustFactor;
-		}
-	}
+	private int[] activeSlots = new int[0];
+	private double[] rainInput = new double[0];
 
 	public static GlobalWeatherManager get(ServerLevel level) {
 		return INSTANCES.computeIfAbsent(level, GlobalWeatherManager::new);
@@ -76,8 +56,24 @@ public final class GlobalWeatherManager {
 		INSTANCES.remove(level);
 	}
 
+	public static void onChunkLoad(ServerLevel level, ChunkPos chunk) {
+		GlobalWeatherManager manager = INSTANCES.get(level);
+		if (manager == null) return;
+
+		// Surface height is only read at the zone centre, so only that chunk
+		// loading can change a cached climate.
+		int centerOffset = ZONE_SIZE_CHUNKS / 2;
+		if (Math.floorMod(chunk.x, ZONE_SIZE_CHUNKS) != centerOffset || Math.floorMod(chunk.z, ZONE_SIZE_CHUNKS) != centerOffset) return;
+
+		int slot = manager.grid.slot(Math.floorDiv(chunk.x, ZONE_SIZE_CHUNKS), Math.floorDiv(chunk.z, ZONE_SIZE_CHUNKS));
+		if (slot >= 0) {
+			manager.grid.climateSampledAt[slot] = -1L;
+		}
+	}
+
 	private GlobalWeatherManager(ServerLevel level) {
 		this.level = level;
+		this.targetCache.defaultReturnValue(Double.NaN);
 		XoroshiroRandomSource random = new XoroshiroRandomSource(level.getSeed() ^ 0x9E3779B97F4A7C15L);
 
 		this.flowDirectionSeed = random.nextFloat() * 360.0f;
@@ -92,20 +88,38 @@ public final class GlobalWeatherManager {
 
 		flowDirection = wrapDegrees(flowDirection + 0.05f * Mth.sin((level.getGameTime() + flowDirectionSeed) / 2400.0f));
 
-		Map<Long, WeatherCell> snapshot = new HashMap<>(cells.size());
-		for (Map.Entry<Long, WeatherCell> entry : cells.entrySet()) {
-			WeatherCell src = entry.getValue();
-			WeatherCell copy = new WeatherCell(src.seed, src.zoneX, src.zoneZ, src.direction, src.windSpeed, src.turbulence, src.phase, src.stormIntensity, src.moistureStore);
-			copy.targetWindSpeed = src.targetWindSpeed;
-			copy.lastTouched = src.lastTouched;
-			snapshot.put(entry.getKey(), copy);
+		// World reads stay on the server thread. The numeric pass only reads the
+		// front buffer and gathered inputs and writes its own back buffer slot, so
+		// it can run on workers; saved data is then updated in slot order.
+		long now = level.getGameTime();
+		boolean thundering = level.isThundering();
+		ensureInputCapacity(grid.size());
+		int activeCount = 0;
+		for (int slot = 0; slot < grid.size(); slot++) {
+			if (now - grid.lastTouched[slot] > ACTIVE_AGE_TICKS && !zoneHasLoadedChunks(grid.zoneX[slot], grid.zoneZ[slot])) continue;
+			gatherInputs(slot, now);
+			activeSlots[activeCount++] = slot;
 		}
 
-		long now = level.getGameTime();
-		for (WeatherCell cell : cells.values()) {
-			if (now - cell.lastTouched > ACTIVE_AGE_TICKS && !zoneHasLoadedChunks(cell.zoneX, cell.zoneZ)) continue;
-			updateCell(cell, snapshot);
+		grid.beginStep();
+		int[] slots = activeSlots;
+		int count = activeCount;
+		if (ElectricityServerConfig.parallelWeather() && count > 1) {
+			ElectricityWorkers.computePool().submit(() -> IntStream.range(0, count).parallel().forEach(i -> stepCell(slots[i], now, thundering))).join();
+		} else {
+			for (int i = 0; i < count; i++) {
+				stepCell(slots[i], now, thundering);
+			}
+		}
+
+		WeatherGrid.Buffer out = grid.back();
+		for (int i = 0; i < count; i++) {
+			int slot = slots[i];
+			savedData.update(grid.zoneX[slot], grid.zoneZ[slot], out.windSpeed[slot], out.targetWindSpeed[slot], out.turbulence[slot], out.direction[slot], out.stormIntensity[slot],
+					out.moistureStore[slot], grid.phase[slot]);
 		}
+		grid.swap();
+		stepCount++;
 
 		if (tickCounter % PRUNE_INTERVAL == 0) {
 			pruneInactive();
@@ -117,33 +131,97 @@ public final class GlobalWeatherManager {
 		}
 	}
 
+	public long stepCount() {
+		return stepCount;
+	}
+
+	/**
+	 * Weather of the zone containing {@code pos}. The returned snapshot is
+	 * shared by every caller in that zone until the next weather step.
+	 */
 	public WeatherSnapshot sample(BlockPos pos) {
-		WeatherCell cell = getCell(pos);
-		cell.lastTouched = level.getGameTime();
+		return grid.snapshot(getCell(pos));
+	}
 
-		return new WeatherSnapshot(cell.windSpeed, cell.gustSpeed(), cell.turbulence, cell.direction);
+	/**
+	 * Weather at {@code pos} blended bilinearly between the four nearest zone
+	 * centres, so neighbouring turbines on either side of a zone edge do not
+	 * see a step. Allocates a new snapshot; callers cache it per step, see
+	 * {@link WeatherSampler}.
+	 */
+	public WeatherSnapshot sampleInterpolated(BlockPos pos) {
+		double zoneBlocks = ZONE_SIZE_CHUNKS * 16.0;
+		double fx = (pos.getX() + 0.5) / zoneBlocks - 0.5;
+		double fz = (pos.getZ() + 0.5) / zoneBlocks - 0.5;
+		int x0 = (int) Math.floor(fx);
+		int z0 = (int) Math.floor(fz);
+		double tx = fx - x0;
+		double tz = fz - z0;
+
+		// Only the sampler's own zone is created and kept alive; corners that
+		// have no cell yet fall back to the same defaults as advection so a
+		// turbine near a zone edge does not spawn and pin its neighbours.
+		int owner = getCell(pos);
+		WeatherGrid.Buffer state = grid.front();
+		double windSpeed = 0.0;
+		double gustSpeed = 0.0;
+		double turbulence = 0.0;
+		double dirX = 0.0;
+		double dirZ = 0.0;
+		for (int corner = 0; corner < 4; corner++) {
+			int dx = corner & 1;
+			int dz = corner >> 1;
+			double weight = (dx == 0 ? 1.0 - tx : tx) * (dz == 0 ? 1.0 - tz : tz);
+			int slot = grid.slot(x0 + dx, z0 + dz);
+
+			double cornerWind;
+			double cornerTurbulence;
+			float cornerDirection;
+			if (slot >= 0) {
+				cornerWind = state.windSpeed[slot];
+				cornerTurbulence = state.turbulence[slot];
+				cornerDirection = state.direction[slot];
+			} else {
+				cornerWind = sampleCellValue(x0 + dx, z0 + dz, FIELD_WIND);
+				cornerTurbulence = sampleCellValue(x0 + dx, z0 + dz, FIELD_TURBULENCE);
+				cornerDirection = state.direction[owner];
+			}
+
+			windSpeed += cornerWind * weight;
+			gustSpeed += cornerWind * (1.0 + cornerTurbulence * 0.9) * weight;
+			turbulence += cornerTurbulence * weight;
+			double radians = Math.toRadians(cornerDirection);
+			dirX += Math.cos(radians) * weight;
+			dirZ += Math.sin(radians) * weight;
+		}
+
+		float direction = wrapDegrees((float) Math.toDegrees(Math.atan2(dirZ, dirX)));
+		return new WeatherSnapshot(windSpeed, gustSpeed, turbulence, direction);
 	}
 
 	public Map<Long, WeatherSnapshot> snapshotZones() {
 		Map<Long, WeatherSnapshot> map = new HashMap<>();
-		for (Map.Entry<Long, WeatherCell> entry : cells.entrySet()) {
-			WeatherCell cell = entry.getValue();
-			map.put(entry.getKey(), new WeatherSnapshot(cell.windSpeed, cell.gustSpeed(), cell.turbulence, cell.direction));
+		for (int slot = 0; slot < grid.size(); slot++) {
+			map.put(WeatherGrid.key(grid.zoneX[slot], grid.zoneZ[slot]), grid.snapshot(slot));
 		}
 		return map;
 	}
 
-	private WeatherCell getCell(BlockPos pos) {
-		int zoneX = Math.floorDiv(pos.getX() >> 4, ZONE_SIZE_CHUNKS);
-		int zoneZ = Math.floorDiv(pos.getZ() >> 4, ZONE_SIZE_CHUNKS);
-		long key = (((long) zoneX) << 32) ^ (zoneZ & 0xffffffffL);
+	private int getCell(BlockPos pos) {
+		return getCell(Math.floorDiv(pos.getX() >> 4, ZONE_SIZE_CHUNKS), Math.floorDiv(pos.getZ() >> 4, ZONE_SIZE_CHUNKS));
+	}
+
+	private int getCell(int zoneX, int zoneZ) {
+		int slot = grid.slot(zoneX, zoneZ);
+		if (slot < 0) {
+			slot = createCell(zoneX, zoneZ);
+		}
 
-		WeatherCell cell = cells.computeIfAbsent(key, unused -> createCell(zoneX, zoneZ));
-		cell.lastTouched = level.getGameTime();
-		return cell;
+		grid.lastTouched[slot] = level.getGameTime();
+		return slot;
 	}
 
-	private WeatherCell createCell(int zoneX, int zoneZ) {
+	private int createCell(int zoneX, int zoneZ) {
 		long seed = mixSeed(zoneX, zoneZ);
 		XoroshiroRandomSource random = new XoroshiroRandomSource(seed);
 
@@ -156,94 +234,129 @@ public final class GlobalWeatherManager {
 
 		WeatherSavedData.CellData data = savedData.get(zoneX, zoneZ);
 		if (data != null) {
-			WeatherCell restored = new WeatherCell(seed, zoneX, zoneZ, (float) data.direction(), data.windSpeed(), data.turbulence(), data.phase(), data.stormIntensity(), data.moistureStore());
-			restored.targetWindSpeed = data.targetWindSpeed();
-			restored.lastTouched = level.getGameTime();
-			return restored;
+			return grid.add(zoneX, zoneZ, seed, data.phase(), level.getGameTime(), (float) data.direction(), data.windSpeed(), data.targetWindSpeed(), data.turbulence(), data.stormIntensity(),
+					data.moistureStore());
 		}
 
-		WeatherCell created = new WeatherCell(seed, zoneX, zoneZ, direction, baseWind, turbulence, phase, stormIntensity, moistureStore);
-		created.lastTouched = level.getGameTime();
-		return created;
+		return grid.add(zoneX, zoneZ, seed, phase, level.getGameTime(), direction, baseWind, baseWind, turbulence, stormIntensity, moistureStore);
+	}
+
+	private void ensureInputCapacity(int required) {
+		if (activeSlots.length >= required) return;
+
+		int capacity = Math.max(required, Math.max(16, activeSlots.length * 2));
+		activeSlots = Arrays.copyOf(activeSlots, capacity);
+		rainInput = Arrays.copyOf(rainInput, capacity);
 	}
 
-	private void updateCell(WeatherCell cell, Map<Long, WeatherCell> snapshot) {
-		BlockPos center = new BlockPos(getZoneCenter(cell.zoneX, cell.zoneZ));
-		double rainForcing = samplePrecipitation(center);
-		boolean thunder = level.isThundering() && rainForcing > 0.25;
+	private void gatherInputs(int slot, long now) {
+		BlockPos center = getZoneCenter(grid.zoneX[slot], grid.zoneZ[slot]);
+		rainInput[slot] = samplePrecipitation(center);
+
+		long sampledAt = grid.climateSampledAt[slot];
+		if (sampledAt < 0 || now - sampledAt >= CLIMATE_REFRESH_TICKS) {
+			sampleClimate(slot, center, now);
+		}
+	}
+
+	private void sampleClimate(int slot, BlockPos center, long now) {
 		int surfaceY = center.getY();
 
 		if (level.getChunkSource().hasChunk(center.getX() >> 4, center.getZ() >> 4)) {
 			surfaceY = level.getHeight(Heightmap.Types.MOTION_BLOCKING, center.getX(), center.getZ());
 		}
 
-		double seaLevel = level.getSeaLevel();
-		double altitude = surfaceY - seaLevel;
-		double altitudeBias = Mth.clamp(altitude / 70.0, -0.3, 1.2);
-
 		BlockPos tempPos = new BlockPos(center.getX(), surfaceY, center.getZ());
 		var biomeHolder = level.getBiome(tempPos);
 		var climate = biomeHolder.value().getModifiedClimateSettings();
+
 		float temperature = climate.temperatureModifier().modifyTemperature(tempPos, climate.temperature());
 
-		double coldBias = Mth.clamp(1.0 - temperature, 0.0, 1.5);
-		double heatBias = Mth.clamp(temperature - 1.05, 0.0, 1.0);
+		double altitude = surfaceY - (double) level.getSeaLevel();
+		grid.altitudeBias[slot] = Mth.clamp(altitude / 70.0, -0.3, 1.2);
+		grid.coldBias[slot] = Mth.clamp(1.0 - temperature, 0.0, 1.5);
+		grid.heatBias[slot] = Mth.clamp(temperature - 1.05, 0.0, 1.0);
+		grid.climateSampledAt[slot] = now;
+	}
+
+	private void stepCell(int slot, long now, boolean thundering) {
+		WeatherGrid.Buffer in = grid.front();
+		WeatherGrid.Buffer out = grid.back();
+		int zoneX = grid.zoneX[slot];
+		int zoneZ = grid.zoneZ[slot];
+		long seed = grid.seed[slot];
+		double phase = grid.phase[slot];
+
+		double rainForcing = rainInput[slot];
+		boolean thunder = thundering && rainForcing > 0.25;
 
-		double time = level.getGameTime() + cell.seed;
-		double synoptic = 0.5 + 0.5 * Math.sin(time / 3600.0 + cell.phase);
-		double pulse = 0.5 + 0.5 * Math.sin(time / 2000.0 + cell.phase * 0.7);
+		double altitudeBias = grid.altitudeBias[slot];
+		double coldBias = grid.coldBias[slot];
+		double heatBias = grid.heatBias[slot];
+
+		double time = now + seed;
+		double synoptic = 0.5 + 0.5 * Math.sin(time / 3600.0 + phase);
+		double pulse = 0.5 + 0.5 * Math.sin(time / 2000.0 + phase * 0.7);
 
 		double moistureInput = 0.12 + rainForcing * 0.22 + (thunder ? 0.12 : 0.0) + coldBias * 0.12 - heatBias * 0.08 + synoptic * 0.08;
 		moistureInput = Mth.clamp(moistureInput, 0.0, 1.0);
 
-		double upstream = sampleUpstreamStorm(cell);
-		double neighborBlend = sampleNeighborStorm(cell, snapshot);
-		float heading = flowHeading(cell.zoneX, cell.zoneZ, time);
+		double upstream = sampleUpstreamStorm(zoneX, zoneZ, time);
+		double neighborBlend = sampleNeighborStorm(zoneX, zoneZ);
+		float heading = flowHeading(zoneX, zoneZ, time);
 
-		double advectFactor = 0.45 + Mth.clamp(cell.windSpeed / WIND_MAX, 0.0, 1.0) * 0.55;
+		double windSpeed = in.windSpeed[slot];
+		double stormIntensity = in.stormIntensity[slot];
+		double advectFactor = 0.45 + Mth.clamp(windSpeed / WIND_MAX, 0.0, 1.0) * 0.55;
 		double advectDist = advectFactor * 0.9;
 
 		double advectX = Math.cos(Math.toRadians(heading)) * advectDist;
 		double advectZ = Math.sin(Math.toRadians(heading)) * advectDist;
 
-		double advectedStorm = sampleField(cell.zoneX - advectX, cell.zoneZ - advectZ, snapshot, STORM_EXTRACTOR);
-		double advectedWind = sampleField(cell.zoneX - advectX, cell.zoneZ - advectZ, snapshot, WIND_EXTRACTOR);
-		double advectedTurb = sampleField(cell.zoneX - advectX, cell.zoneZ - advectZ, snapshot, TURB_EXTRACTOR);
+		double advectedStorm = sampleField(zoneX - advectX, zoneZ - advectZ, FIELD_STORM);
+		double advectedWind = sampleField(zoneX - advectX, zoneZ - advectZ, FIELD_WIND);
+		double advectedTurb = sampleField(zoneX - advectX, zoneZ - advectZ, FIELD_TURBULENCE);
 
 		double growth = moistureInput * (0.4 + synoptic * 0.28) + upstream * 0.42 + neighborBlend * 0.28 + pulse * 0.1 + altitudeBias * 0.1;
-		double decay = 0.008 + heatBias * 0.01 + cell.stormIntensity * 0.016;
+		double decay = 0.008 + heatBias * 0.01 + stormIntensity * 0.016;
 
-		cell.moistureStore = Mth.clamp(Mth.lerp(0.55, cell.moistureStore, moistureInput), 0.0, 1.0);
-		double stormTarget = Mth.clamp(cell.stormIntensity + growth - decay, 0.0, 1.0);
+		double moistureStore = Mth.clamp(Mth.lerp(0.55, in.moistureStore[slot], moistureInput), 0.0, 1.0);
+		double stormTarget = Mth.clamp(stormIntensity + growth - decay, 0.0, 1.0);
 		stormTarget = Mth.lerp(0.35, stormTarget, advectedStorm);
-		cell.stormIntensity = Mth.lerp(0.45, cell.stormIntensity, stormTarget);
+		stormIntensity = Mth.lerp(0.45, stormIntensity, stormTarget);
 
 		double calmFloor = 2.2 + coldBias * 0.8 - heatBias * 0.5 + altitudeBias * 1.2;
-		double convective = 11.0 * cell.stormIntensity;
-		double stormJet = cell.stormIntensity * 6.0;
+		double convective = 11.0 * stormIntensity;
+		double stormJet = stormIntensity * 6.0;
 		double baseMax = 7.0 + convective + stormJet + rainForcing * 1.1 + altitudeBias * 2.2;
 		if (thunder) {
-			baseMax += 3.5 * cell.stormIntensity;
+			baseMax += 3.5 * stormIntensity;
 		}
 
-		double shaping = Mth.clamp(0.55 + 0.3 * synoptic + 0.12 * pulse + altitudeBias * 0.08 + cell.stormIntensity * 0.12, 0.0, 1.0);
+		double shaping = Mth.clamp(0.55 + 0.3 * synoptic + 0.12 * pulse + altitudeBias * 0.08 + stormIntensity * 0.12, 0.0, 1.0);
 		double target = calmFloor + (baseMax - calmFloor) * shaping;
 		target = Mth.clamp(target, WIND_MIN, WIND_MAX);
 
 		double advectedTarget = Mth.lerp(0.38, target, advectedWind);
-		double blendedTarget = Mth.lerp(0.25, advectedTarget, sampleNeighborWind(cell, target, snapshot));
+		double blendedTarget = Mth.lerp(0.25, advectedTarget, sampleNeighborWind(zoneX, zoneZ, target));
 
-		cell.targetWindSpeed = Mth.lerp(0.26, cell.targetWindSpeed, blendedTarget);
-		cell.windSpeed = Mth.lerp(0.22, cell.windSpeed, cell.targetWindSpeed);
+		double targetWindSpeed = Mth.lerp(0.26, in.targetWindSpeed[slot], blendedTarget);
+		windSpeed = Mth.lerp(0.22, windSpeed, targetWindSpeed);
 
-		double windBias = Mth.clamp(cell.windSpeed / WIND_MAX, 0.0, 1.0);
-		double turbulenceTarget = Mth.clamp(0.08 + windBias * 0.2 + cell.stormIntensity * 0.35 + rainForcing * 0.08 + altitudeBias * 0.1 + (thunder ? 0.08 * cell.stormIntensity : 0.0), 0.03, 1.0);
+		double windBias = Mth.clamp(windSpeed / WIND_MAX, 0.0, 1.0);
+		double turbulenceTarget = Mth.clamp(0.08 + windBias * 0.2 + stormIntensity * 0.35 + rainForcing * 0.08 + altitudeBias * 0.1 + (thunder ? 0.08 * stormIntensity : 0.0), 0.03, 1.0);
 		turbulenceTarget = Mth.lerp(0.22, turbulenceTarget, advectedTurb);
-		cell.turbulence = Mth.lerp(0.32, cell.turbulence, turbulenceTarget);
+		double turbulence = Mth.lerp(0.32, in.turbulence[slot], turbulenceTarget);
+
+		float flowTarget = flowHeading(zoneX, zoneZ, time);
+		float direction = lerpAngle(in.direction[slot], flowTarget, 0.18f);
 
-		float flowTarget = flowHeading(cell.zoneX, cell.zoneZ, time);
-		cell.direction = lerpAngle(cell.direction, flowTarget, 0.18f);
-		savedData.update(cell.zoneX, cell.zoneZ, cell.windSpeed, cell.targetWindSpeed, cell.turbulence, cell.direction, cell.stormIntensity, cell.moistureStore, cell.phase);
+		out.windSpeed[slot] = windSpeed;
+		out.targetWindSpeed[slot] = targetWindSpeed;
+		out.turbulence[slot] = turbulence;
+		out.direction[slot] = direction;
+		out.stormIntensity[slot] = stormIntensity;
+		out.moistureStore[slot] = moistureStore;
 	}
 
 	private double samplePrecipitation(BlockPos center) {
@@ -274,65 +387,72 @@ public final class GlobalWeatherManager {
 		return new BlockPos(blockX, 64, blockZ);
 	}
 
-	private double sampleNeighborWind(WeatherCell cell, double target, Map<Long, WeatherCell> snapshot) {
+	private double sampleNeighborWind(int zoneX, int zoneZ, double target) {
 		double total = target;
 		int count = 1;
-		int zoneX = cell.zoneX;
-		int zoneZ = cell.zoneZ;
-		total += neighborWind(zoneX + 1, zoneZ, snapshot);
-		total += neighborWind(zoneX - 1, zoneZ, snapshot);
-		total += neighborWind(zoneX, zoneZ + 1, snapshot);
-		total += neighborWind(zoneX, zoneZ - 1, snapshot);
+		total += neighborWind(zoneX + 1, zoneZ);
+		total += neighborWind(zoneX - 1, zoneZ);
+		total += neighborWind(zoneX, zoneZ + 1);
+		total += neighborWind(zoneX, zoneZ - 1);
 		count += 4;
 		return total / count;
 	}
 
-	private double neighborWind(int zoneX, int zoneZ, Map<Long, WeatherCell> snapshot) {
-		long key = (((long) zoneX) << 32) ^ (zoneZ & 0xffffffffL);
-		WeatherCell cell = snapshot.get(key);
-		if (cell != null) return cell.windSpeed;
+	private double neighborWind(int zoneX, int zoneZ) {
+		int slot = grid.slot(zoneX, zoneZ);
+		if (slot >= 0) return grid.front().windSpeed[slot];
 		return targetForCoordinates(zoneX, zoneZ);
 	}
 
-	private double sampleNeighborStorm(WeatherCell cell, Map<Long, WeatherCell> snapshot) {
+	private double sampleNeighborStorm(int zoneX, int zoneZ) {
 		double total = 0.0;
 		int count = 0;
-		int zoneX = cell.zoneX;
-		int zoneZ = cell.zoneZ;
-		total += neighborStorm(zoneX + 1, zoneZ, snapshot);
-		total += neighborStorm(zoneX - 1, zoneZ, snapshot);
-		total += neighborStorm(zoneX, zoneZ + 1, snapshot);
-		total += neighborStorm(zoneX, zoneZ - 1, snapshot);
+		total += neighborStorm(zoneX + 1, zoneZ);
+		total += neighborStorm(zoneX - 1, zoneZ);
+		total += neighborStorm(zoneX, zoneZ + 1);
+		total += neighborStorm(zoneX, zoneZ - 1);
 		count += 4;
 		return count == 0 ? 0.0 : total / count;
 	}
 
-	private double neighborStorm(int zoneX, int zoneZ, Map<Long, WeatherCell> snapshot) {
-		long key = (((long) zoneX) << 32) ^ (zoneZ & 0xffffffffL);
-		WeatherCell cell = snapshot.get(key);
-		if (cell != null) return cell.stormIntensity;
+	private double neighborStorm(int zoneX, int zoneZ) {
+		int slot = grid.slot(zoneX, zoneZ);
+		if (slot >= 0) return grid.front().stormIntensity[slot];
 		return 0.0;
 	}
 
-	private double sampleUpstreamStorm(WeatherCell cell) {
-		double radians = Math.toRadians(flowHeading(cell.zoneX, cell.zoneZ, level.getGameTime() + cell.seed));
+	private double sampleUpstreamStorm(int zoneX, int zoneZ, double time) {
+		double radians = Math.toRadians(flowHeading(zoneX, zoneZ, time));
 		int stepX = (int) Math.signum(Math.cos(radians));
 		int stepZ = (int) Math.signum(Math.sin(radians));
 
 		if (stepX == 0 && stepZ == 0) stepX = 1;
-		int upstreamX = cell.zoneX - stepX;
-		int upstreamZ = cell.zoneZ - stepZ;
-		long key = (((long) upstreamX) << 32) ^ (upstreamZ & 0xffffffffL);
-		WeatherCell upstream = cells.get(key);
+		int upstream = grid.slot(zoneX - stepX, zoneZ - stepZ);
 
-		if (upstream != null) return upstream.stormIntensity;
+		if (upstream >= 0) return grid.front().stormIntensity[upstream];
 		return 0.1;
 	}
 
 	private double targetForCoordinates(int zoneX, int zoneZ) {
+		// Pure function of the zone and level seed, asked for every missing
+		// neighbour on every step; keep recent answers in a small LRU.
+		long key = WeatherGrid.key(zoneX, zoneZ);
+		synchronized (targetCache) {
+			double cached = targetCache.getAndMoveToLast(key);
+			if (!Double.isNaN(cached)) return cached;
+		}
+
 		long seed = mixSeed(zoneX, zoneZ);
 		XoroshiroRandomSource random = new XoroshiroRandomSource(seed);
-		return 2.5 + random.nextDouble() * 4.0;
+		double target = 2.5 + random.nextDouble() * 4.0;
+
+		synchronized (targetCache) {
+			if (!targetCache.containsKey(key) && targetCache.size() >= TARGET_CACHE_SIZE) {
+				targetCache.removeFirstDouble();
+			}
+			targetCache.putAndMoveToLast(key, target);
+		}
+		return target;
 	}
 
 	private long mixSeed(int zoneX, int zoneZ) {
@@ -346,7 +466,7 @@ public final class GlobalWeatherManager {
 		return wrapped;
 	}
 
-	private double sampleField(double zoneX, double zoneZ, Map<Long, WeatherCell> snapshot, ToDoubleFunction<WeatherCell> extractor) {
+	private double sampleField(double zoneX, double zoneZ, int field) {
 		int x0 = (int) Math.floor(zoneX);
 		int z0 = (int) Math.floor(zoneZ);
 		int x1 = x0 + 1;
@@ -354,23 +474,25 @@ public final class GlobalWeatherManager {
 		double tx = zoneX - x0;
 		double tz = zoneZ - z0;
 
-		double c00 = sampleCellValue(x0, z0, snapshot, extractor);
-		double c10 = sampleCellValue(x1, z0, snapshot, extractor);
-		double c01 = sampleCellValue(x0, z1, snapshot, extractor);
-		double c11 = sampleCellValue(x1, z1, snapshot, extractor);
+		double c00 = sampleCellValue(x0, z0, field);
+		double c10 = sampleCellValue(x1, z0, field);
+		double c01 = sampleCellValue(x0, z1, field);
+		double c11 = sampleCellValue(x1, z1, field);
 
 		double a = Mth.lerp(tx, c00, c10);
 		double b = Mth.lerp(tx, c01, c11);
 		return Mth.lerp(tz, a, b);
 	}
 
-	private double sampleCellValue(int zoneX, int zoneZ, Map<Long, WeatherCell> snapshot, ToDoubleFunction<WeatherCell> extractor) {
-		WeatherCell cell = snapshot.get((((long) zoneX) << 32) ^ (zoneZ & 0xffffffffL));
-		if (cell != null) return extractor.applyAsDouble(cell);
-		if (extractor == WIND_EXTRACTOR || extractor == GUST_EXTRACTOR) return targetForCoordinates(zoneX, zoneZ);
-		if (extractor == TURB_EXTRACTOR) return 0.08;
-		if (extractor == STORM_EXTRACTOR) return 0.02;
-		return 0.0;
+	private double sampleCellValue(int zoneX, int zoneZ, int field) {
+		int slot = grid.slot(zoneX, zoneZ);
+		WeatherGrid.Buffer state = grid.front();
+		return switch (field) {
+			case FIELD_WIND -> slot >= 0 ? state.windSpeed[slot] : targetForCoordinates(zoneX, zoneZ);
+			case FIELD_TURBULENCE -> slot >= 0 ? state.turbulence[slot] : 0.08;
+			case FIELD_STORM -> slot >= 0 ? state.stormIntensity[slot] : 0.02;
+			default -> 0.0;
+		};
 	}
 
 	private float lerpAngle(float current, float target, float alpha) {
@@ -411,47 +533,27 @@ public final class GlobalWeatherManager {
 	}
 
 	private void pruneInactive() {
+		// Walk backwards so the slot moved into a freed one has already been checked.
 		long now = level.getGameTime();
-		cells.entrySet().removeIf(entry -> {
-			WeatherCell cell = entry.getValue();
-			if (now - cell.lastTouched < PRUNE_AGE_TICKS) return false;
-			int startChunkX = cell.zoneX * ZONE_SIZE_CHUNKS;
-			int startChunkZ = cell.zoneZ * ZONE_SIZE_CHUNKS;
-			int endChunkX = startChunkX + ZONE_SIZE_CHUNKS - 1;
-			int endChunkZ = startChunkZ + ZONE_SIZE_CHUNKS - 1;
-
-			for (int chunkX = startChunkX; chunkX <= endChunkX; chunkX++) {
-				for (int chunkZ = startChunkZ; chunkZ <= endChunkZ; chunkZ++) {
-					if (level.getChunkSource().hasChunk(chunkX, chunkZ)) {
-						return false;
-					}
-				}
-			}
+		for (int slot = grid.size() - 1; slot >= 0; slot--) {
+			if (now - grid.lastTouched[slot] < PRUNE_AGE_TICKS) continue;
+			if (zoneHasLoadedChunks(grid.zoneX[slot], grid.zoneZ[slot])) continue;
 
-			savedData.remove(cell.zoneX, cell.zoneZ);
-			return true;
-		});
+			savedData.remove(grid.zoneX[slot], grid.zoneZ[slot]);
+			grid.remove(slot);
+		}
 	}
 
 	private void restoreSavedCells() {
 		for (WeatherSavedData.CellData data : savedData.all()) {
-			long key = (((long) data.zoneX()) << 32) ^ (data.zoneZ() & 0xffffffffL);
-			double windSpeed = data.windSpeed();
-			double targetWindSpeed = data.targetWindSpeed();
-			double turbulence = data.turbulence();
-			float direction = (float) data.direction();
-			double stormIntensity = data.stormIntensity();
-			double moistureStore = data.moistureStore();
-			double phase = data.phase();
-
-			WeatherCell cell = new WeatherCell(mixSeed(data.zoneX(), data.zoneZ()), data.zoneX(), data.zoneZ(), direction, windSpeed, turbulence, phase, stormIntensity, moistureStore);
-			cell.targetWindSpeed = targetWindSpeed;
-			cell.lastTouched = level.getGameTime();
-			cells.put(key, cell);
+			if (grid.slot(data.zoneX(), data.zoneZ()) >= 0) continue;
+
+			grid.add(data.zoneX(), data.zoneZ(), mixSeed(data.zoneX(), data.zoneZ()), data.phase(), level.getGameTime(), (float) data.direction(), data.windSpeed(), data.targetWindSpeed(),
+					data.turbulence(), data.stormIntensity(), data.moistureStore());
 		}
 	}
 
-	private static final class WeatherSavedData extends SavedData {
+	private static final class WeatherSavedData extends AsyncSavedData {
 		private final Map<Long, CellData> cells = new ConcurrentHashMap<>();
 		private Double flowDirection;
 		private boolean dirtyFlag = false;
@@ -466,28 +568,32 @@ public final class GlobalWeatherManager {
 		}
 
 		@Override
-		public CompoundTag save(CompoundTag tag) {
-			ListTag list = new ListTag();
-			for (CellData cell : cells.values()) {
-				CompoundTag entry = new CompoundTag();
-				entry.putInt("zoneX", cell.zoneX());
-				entry.putInt("zoneZ", cell.zoneZ());
-				entry.putDouble("windSpeed", cell.windSpeed());
-				entry.putDouble("targetWindSpeed", cell.targetWindSpeed());
-				entry.putDouble("turbulence", cell.turbulence());
-				entry.putDouble("direction", cell.direction());
-				entry.putDouble("stormIntensity", cell.stormIntensity());
-				entry.putDouble("moistureStore", cell.moistureStore());
-				entry.putDouble("phase", cell.phase());
-				list.add(entry);
-			}
+		protected UnaryOperator<CompoundTag> snapshot() {
+			List<CellData> snapshot = new ArrayList<>(cells.values());
+			Double snapshotFlowDirection = flowDirection;
+			return tag -> {
+				ListTag list = new ListTag();
+				for (CellData cell : snapshot) {
+					CompoundTag entry = new CompoundTag();
+					entry.putInt("zoneX", cell.zoneX());
+					entry.putInt("zoneZ", cell.zoneZ());
+					entry.putDouble("windSpeed", cell.windSpeed());
+					entry.putDouble("targetWindSpeed", cell.targetWindSpeed());
+					entry.putDouble("turbulence", cell.turbulence());
+					entry.putDouble("direction", cell.direction());
+					entry.putDouble("stormIntensity", cell.stormIntensity());
+					entry.putDouble("moistureStore", cell.moistureStore());
+					entry.putDouble("phase", cell.phase());
+					list.add(entry);
+				}
 
-			tag.put("cells", list);
-			if (flowDirection != null) {
-				tag.putDouble("flowDirection", flowDirection);
-			}
+				tag.put("cells", list);
+				if (snapshotFlowDirection != null) {
+					tag.putDouble("flowDirection", snapshotFlowDirection);
+				}
 
-			return tag;
+				return tag;
+			};
 		}
 
 		private void read(CompoundTag tag) {
@@ -0,0 +1,179 @@
+package com.dooji.electricity.main.weather;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for weather cells. Per-cell state lives in two
+ * buffers of parallel primitive arrays; a step reads neighbours from the front
+ * buffer, writes every updated cell to the back buffer and then swaps them, so
+ * stepping neither copies cells nor allocates. Slots are addressed through a
+ * zone key to slot index table and stay dense; removal moves the last slot
+ * into the freed one. Climate biases are sampled from the world far less
+ * often than a step and are kept per slot outside the buffers, as is the
+ * snapshot handed to samplers, which is rebuilt at most once per step.
+ */
+final class WeatherGrid {
+	private final Long2IntOpenHashMap index = new Long2IntOpenHashMap();
+	private int size = 0;
+	int[] zoneX = new int[0];
+	int[] zoneZ = new int[0];
+	long[] seed = new long[0];
+	double[] phase = new double[0];
+	long[] lastTouched = new long[0];
+	double[] altitudeBias = new double[0];
+	double[] coldBias = new double[0];
+	double[] heatBias = new double[0];
+	long[] climateSampledAt = new long[0];
+	private WeatherSnapshot[] snapshots = new WeatherSnapshot[0];
+	private Buffer front = new Buffer();
+	private Buffer back = new Buffer();
+
+	WeatherGrid() {
+		index.defaultReturnValue(-1);
+	}
+
+	static long key(int zoneX, int zoneZ) {
+		return (((long) zoneX) << 32) ^ (zoneZ & 0xffffffffL);
+	}
+
+	int size() {
+		return size;
+	}
+
+	int slot(int zoneX, int zoneZ) {
+		return index.get(key(zoneX, zoneZ));
+	}
+
+	Buffer front() {
+		return front;
+	}
+
+	Buffer back() {
+		return back;
+	}
+
+	int add(int cellZoneX, int cellZoneZ, long cellSeed, double cellPhase, long touched, float direction, double windSpeed, double targetWindSpeed, double turbulence, double stormIntensity,
+			double moistureStore) {
+		ensureCapacity(size + 1);
+		int slot = size++;
+		index.put(key(cellZoneX, cellZoneZ), slot);
+		zoneX[slot] = cellZoneX;
+		zoneZ[slot] = cellZoneZ;
+		seed[slot] = cellSeed;
+		phase[slot] = cellPhase;
+		lastTouched[slot] = touched;
+		climateSampledAt[slot] = -1L;
+		snapshots[slot] = null;
+		front.set(slot, direction, windSpeed, targetWindSpeed, turbulence, stormIntensity, moistureStore);
+		back.set(slot, direction, windSpeed, targetWindSpeed, turbulence, stormIntensity, moistureStore);
+		return slot;
+	}
+
+	void remove(int slot) {
+		index.remove(key(zoneX[slot], zoneZ[slot]));
+		int last = --size;
+		if (slot == last) {
+			snapshots[slot] = null;
+			return;
+		}
+
+		zoneX[slot] = zoneX[last];
+		zoneZ[slot] = zoneZ[last];
+		seed[slot] = seed[last];
+		phase[slot] = phase[last];
+		lastTouched[slot] = lastTouched[last];
+		altitudeBias[slot] = altitudeBias[last];
+		coldBias[slot] = coldBias[last];
+		heatBias[slot] = heatBias[last];
+		climateSampledAt[slot] = climateSampledAt[last];
+		snapshots[slot] = snapshots[last];
+		snapshots[last] = null;
+		front.move(last, slot);
+		back.move(last, slot);
+		index.put(key(zoneX[slot], zoneZ[slot]), slot);
+	}
+
+	void beginStep() {
+		back.copyFrom(front, size);
+	}
+
+	void swap() {
+		Buffer previous = front;
+		front = back;
+		back = previous;
+		Arrays.fill(snapshots, 0, size, null);
+	}
+
+	WeatherSnapshot snapshot(int slot) {
+		WeatherSnapshot snapshot = snapshots[slot];
+		if (snapshot == null) {
+			snapshot = new WeatherSnapshot(front.windSpeed[slot], front.gustSpeed(slot), front.turbulence[slot], front.direction[slot]);
+			snapshots[slot] = snapshot;
+		}
+
+		return snapshot;
+	}
+
+	private void ensureCapacity(int required) {
+		if (zoneX.length >= required) return;
+
+		int capacity = Math.max(required, Math.max(16, zoneX.length * 2));
+		zoneX = Arrays.copyOf(zoneX, capacity);
+		zoneZ = Arrays.copyOf(zoneZ, capacity);
+		seed = Arrays.copyOf(seed, capacity);
+		phase = Arrays.copyOf(phase, capacity);
+		lastTouched = Arrays.copyOf(lastTouched, capacity);
+		altitudeBias = Arrays.copyOf(altitudeBias, capacity);
+		coldBias = Arrays.copyOf(coldBias, capacity);
+		heatBias = Arrays.copyOf(heatBias, capacity);
+		climateSampledAt = Arrays.copyOf(climateSampledAt, capacity);
+		snapshots = Arrays.copyOf(snapshots, capacity);
+		front.grow(capacity);
+		back.grow(capacity);
+	}
+
+	static final class Buffer {
+		float[] direction = new float[0];
+		double[] windSpeed = new double[0];
+		double[] targetWindSpeed = new double[0];
+		double[] turbulence = new double[0];
+		double[] stormIntensity = new double[0];
+		double[] moistureStore = new double[0];
+
+		double gustSpeed(int slot) {
+			return windSpeed[slot] * (1.0 + turbulence[slot] * 0.9);
+		}
+
+		private void set(int slot, float cellDirection, double cellWindSpeed, double cellTargetWindSpeed, double cellTurbulence, double cellStormIntensity, double cellMoistureStore) {
+			direction[slot] = cellDirection;
+			windSpeed[slot] = cellWindSpeed;
+			targetWindSpeed[slot] = cellTargetWindSpeed;
+			turbulence[slot] = cellTurbulence;
+			stormIntensity[slot] = cellStormIntensity;
+			moistureStore[slot] = cellMoistureStore;
+		}
+
+		private void move(int from, int to) {
+			set(to, direction[from], windSpeed[from], targetWindSpeed[from], turbulence[from], stormIntensity[from], moistureStore[from]);
+		}
+
+		private void copyFrom(Buffer other, int count) {
+			System.arraycopy(other.direction, 0, direction, 0, count);
+			System.arraycopy(other.windSpeed, 0, windSpeed, 0, count);
+			System.arraycopy(other.targetWindSpeed, 0, targetWindSpeed, 0, count);
+			System.arraycopy(other.turbulence, 0, turbulence, 0, count);
+			System.arraycopy(other.stormIntensity, 0, stormIntensity, 0, count);
+			System.arraycopy(other.moistureStore, 0, moistureStore, 0, count);
+		}
+
+		private void grow(int capacity) {
+			direction = Arrays.copyOf(direction, capacity);
+			windSpeed = Arrays.copyOf(windSpeed, capacity);
+			targetWindSpeed = Arrays.copyOf(targetWindSpeed, capacity);
+			turbulence = Arrays.copyOf(turbulence, capacity);
+			stormIntensity = Arrays.copyOf(stormIntensity, capacity);
+			moistureStore = Arrays.copyOf(moistureStore, capacity);
+		}
+	}
+}
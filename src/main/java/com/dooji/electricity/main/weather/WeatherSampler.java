@@ -0,0 +1,34 @@
+package com.dooji.electricity.main.weather;
+
+import com.dooji.electricity.main.ElectricityServerConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Per-position weather handle for block entities that read the weather every
+ * tick. The snapshot is resolved once per weather step and reused until the
+ * next one, optionally interpolated across zones.
+ */
+public final class WeatherSampler {
+	private final BlockPos pos;
+	private GlobalWeatherManager manager;
+	private WeatherSnapshot snapshot;
+	private long step = -1L;
+	private boolean interpolated;
+
+	public WeatherSampler(BlockPos pos) {
+		this.pos = pos.immutable();
+	}
+
+	public WeatherSnapshot sample(ServerLevel level) {
+		GlobalWeatherManager current = GlobalWeatherManager.get(level);
+		boolean interpolate = ElectricityServerConfig.interpolateWind();
+		if (snapshot != null && manager == current && step == current.stepCount() && interpolated == interpolate) return snapshot;
+
+		manager = current;
+		step = current.stepCount();
+		interpolated = interpolate;
+		snapshot = interpolate ? current.sampleInterpolated(pos) : current.sample(pos);
+		return snapshot;
+	}
+}
@@ -0,0 +1,36 @@
+package com.dooji.electricity.main.wire;
+
+public enum BlockType {
+	WIND_TURBINE("wind_turbine"), ELECTRIC_CABIN("electric_cabin"), UTILITY_POLE("utility_pole"), POWER_BOX("power_box"), UNKNOWN("unknown");
+
+	static {
+		WIND_TURBINE.transferTargets = ELECTRIC_CABIN.mask | WIND_TURBINE.mask;
+		ELECTRIC_CABIN.transferTargets = UTILITY_POLE.mask;
+		UTILITY_POLE.transferTargets = UTILITY_POLE.mask | POWER_BOX.mask;
+	}
+
+	private final String serializedName;
+	private final int mask;
+	private int transferTargets;
+
+	BlockType(String serializedName) {
+		this.serializedName = serializedName;
+		this.mask = 1 << ordinal();
+	}
+
+	public String getSerializedName() {
+		return serializedName;
+	}
+
+	public boolean canTransferTo(BlockType target) {
+		return (transferTargets & target.mask) != 0;
+	}
+
+	public static BlockType fromName(String name) {
+		for (BlockType type : values()) {
+			if (type.serializedName.equals(name)) return type;
+		}
+
+		return UNKNOWN;
+	}
+}
@@ -0,0 +1,36 @@
+package com.dooji.electricity.main.wire;
+
+public enum PowerType {
+	INPUT("input"), OUTPUT("output"), BIDIRECTIONAL("bidirectional"), UNKNOWN("unknown");
+
+	private static final int SENDERS = OUTPUT.mask | BIDIRECTIONAL.mask;
+	private static final int RECEIVERS = INPUT.mask | BIDIRECTIONAL.mask;
+
+	private final String serializedName;
+	private final int mask;
+
+	PowerType(String serializedName) {
+		this.serializedName = serializedName;
+		this.mask = 1 << ordinal();
+	}
+
+	public String getSerializedName() {
+		return serializedName;
+	}
+
+	public boolean canSend() {
+		return (SENDERS & mask) != 0;
+	}
+
+	public boolean canReceive() {
+		return (RECEIVERS & mask) != 0;
+	}
+
+	public static PowerType fromName(String name) {
+		for (PowerType type : values()) {
+			if (type.serializedName.equals(name)) return type;
+		}
+
+		return UNKNOWN;
+	}
+}
@@ -8,25 +8,25 @@ public class WireConnection {
 	private final String wireType;
 	private final BlockPos startBlockPos;
 	private final BlockPos endBlockPos;
-	private final String startBlockType;
-	private final String endBlockType;
-	private final String startPowerType;
-	private final String endPowerType;
+	private final BlockType startBlockType;
+	private final BlockType endBlockType;
+	private final PowerType startPowerType;
+	private final PowerType endPowerType;
 
 	public WireConnection(int startInsulatorId, int endInsulatorId) {
-		this(startInsulatorId, endInsulatorId, "default", BlockPos.ZERO, BlockPos.ZERO, "unknown", "unknown", "unknown", "unknown");
+		this(startInsulatorId, endInsulatorId, "default", BlockPos.ZERO, BlockPos.ZERO, BlockType.UNKNOWN, BlockType.UNKNOWN, PowerType.UNKNOWN, PowerType.UNKNOWN);
 	}
 
 	public WireConnection(int startInsulatorId, int endInsulatorId, String wireType) {
-		this(startInsulatorId, endInsulatorId, wireType, BlockPos.ZERO, BlockPos.ZERO, "unknown", "unknown", "unknown", "unknown");
+		this(startInsulatorId, endInsulatorId, wireType, BlockPos.ZERO, BlockPos.ZERO, BlockType.UNKNOWN, BlockType.UNKNOWN, PowerType.UNKNOWN, PowerType.UNKNOWN);
 	}
 
-	public WireConnection(int startInsulatorId, int endInsulatorId, String wireType, BlockPos startBlockPos, BlockPos endBlockPos, String startBlockType, String endBlockType) {
-		this(startInsulatorId, endInsulatorId, wireType, startBlockPos, endBlockPos, startBlockType, endBlockType, "unknown", "unknown");
+	public WireConnection(int startInsulatorId, int endInsulatorId, String wireType, BlockPos startBlockPos, BlockPos endBlockPos, BlockType startBlockType, BlockType endBlockType) {
+		this(startInsulatorId, endInsulatorId, wireType, startBlockPos, endBlockPos, startBlockType, endBlockType, PowerType.UNKNOWN, PowerType.UNKNOWN);
 	}
 
-	public WireConnection(int startInsulatorId, int endInsulatorId, String wireType, BlockPos startBlockPos, BlockPos endBlockPos, String startBlockType, String endBlockType, String startPowerType,
-			String endPowerType) {
+	public WireConnection(int startInsulatorId, int endInsulatorId, String wireType, BlockPos startBlockPos, BlockPos endBlockPos, BlockType startBlockType, BlockType endBlockType, PowerType startPowerType,
+			PowerType endPowerType) {
 		this.startInsulatorId = startInsulatorId;
 		this.endInsulatorId = endInsulatorId;
 		this.wireType = wireType;
@@ -58,19 +58,19 @@ public class WireConnection {
 		return endBlockPos;
 	}
 
-	public String getStartBlockType() {
+	public BlockType getStartBlockType() {
 		return startBlockType;
 	}
 
-	public String getEndBlockType() {
+	public BlockType getEndBlockType() {
 		return endBlockType;
 	}
 
-	public String getStartPowerType() {
+	public PowerType getStartPowerType() {
 		return startPowerType;
 	}
 
-	public String getEndPowerType() {
+	public PowerType getEndPowerType() {
 		return endPowerType;
 	}
 
@@ -0,0 +1,211 @@
+package com.dooji.electricity.main.wire;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterable;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongConsumer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+/**
+ * Wire storage shared by the server saved data and the client cache. Wires are
+ * keyed by their two insulator ids packed into one long, lower id first, so a
+ * wire and its reverse occupy the same slot. A reverse index from insulator id
+ * to wire keys keeps removal proportional to the insulator's degree, and a
+ * chunk index covering both endpoints and every chunk a span crosses answers
+ * region queries without a full scan. Not thread safe; callers stay on their
+ * logical side's main thread.
+ */
+public final class WireConnectionMap {
+	private final Long2ObjectOpenHashMap<WireConnection> connections = new Long2ObjectOpenHashMap<>();
+	private final Int2ObjectOpenHashMap<LongOpenHashSet> byInsulator = new Int2ObjectOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<LongOpenHashSet> byChunk = new Long2ObjectOpenHashMap<>();
+
+	public static long key(int firstInsulatorId, int secondInsulatorId) {
+		int low = Math.min(firstInsulatorId, secondInsulatorId);
+		int high = Math.max(firstInsulatorId, secondInsulatorId);
+		return ((long) low << 32) | (high & 0xFFFFFFFFL);
+	}
+
+	public static long key(WireConnection connection) {
+		return key(connection.getStartInsulatorId(), connection.getEndInsulatorId());
+	}
+
+	public WireConnection put(WireConnection connection) {
+		long key = key(connection);
+		WireConnection previous = connections.put(key, connection);
+		if (previous == null) {
+			index(byInsulator, connection.getStartInsulatorId(), key);
+			index(byInsulator, connection.getEndInsulatorId(), key);
+		} else {
+			forEachChunk(previous, chunk -> unindex(byChunk, chunk, key));
+		}
+		forEachChunk(connection, chunk -> index(byChunk, chunk, key));
+
+		return previous;
+	}
+
+	public WireConnection get(long key) {
+		return connections.get(key);
+	}
+
+	public WireConnection remove(WireConnection connection) {
+		return remove(key(connection));
+	}
+
+	public WireConnection remove(long key) {
+		WireConnection removed = connections.remove(key);
+		if (removed != null) {
+			unindex(byInsulator, removed.getStartInsulatorId(), key);
+			unindex(byInsulator, removed.getEndInsulatorId(), key);
+			forEachChunk(removed, chunk -> unindex(byChunk, chunk, key));
+		}
+
+		return removed;
+	}
+
+	public List<WireConnection> removeForInsulators(IntIterable insulatorIds) {
+		LongOpenHashSet keys = new LongOpenHashSet();
+		for (IntIterator iterator = insulatorIds.iterator(); iterator.hasNext();) {
+			LongOpenHashSet indexed = byInsulator.get(iterator.nextInt());
+			if (indexed != null) {
+				keys.addAll(indexed);
+			}
+		}
+
+		List<WireConnection> removed = new ArrayList<>(keys.size());
+		for (LongIterator iterator = keys.iterator(); iterator.hasNext();) {
+			WireConnection connection = remove(iterator.nextLong());
+			if (connection != null) {
+				removed.add(connection);
+			}
+		}
+
+		return removed;
+	}
+
+	public LongSet keysForInsulator(int insulatorId) {
+		LongOpenHashSet keys = byInsulator.get(insulatorId);
+		return keys != null ? LongSets.unmodifiable(keys) : LongSets.EMPTY_SET;
+	}
+
+	public LongSet keysInChunk(long chunkKey) {
+		LongOpenHashSet keys = byChunk.get(chunkKey);
+		return keys != null ? LongSets.unmodifiable(keys) : LongSets.EMPTY_SET;
+	}
+
+	public List<WireConnection> inChunk(ChunkPos chunk) {
+		return inRegion(chunk.x, chunk.z, chunk.x, chunk.z);
+	}
+
+	public List<WireConnection> inRegion(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		LongOpenHashSet keys = new LongOpenHashSet();
+		for (int x = minChunkX; x <= maxChunkX; x++) {
+			for (int z = minChunkZ; z <= maxChunkZ; z++) {
+				LongOpenHashSet indexed = byChunk.get(ChunkPos.asLong(x, z));
+				if (indexed != null) {
+					keys.addAll(indexed);
+				}
+			}
+		}
+
+		List<WireConnection> found = new ArrayList<>(keys.size());
+		for (LongIterator iterator = keys.iterator(); iterator.hasNext();) {
+			found.add(connections.get(iterator.nextLong()));
+		}
+
+		return found;
+	}
+
+	public boolean contains(long key) {
+		return connections.containsKey(key);
+	}
+
+	public Collection<WireConnection> values() {
+		return connections.values();
+	}
+
+	public int size() {
+		return connections.size();
+	}
+
+	public void clear() {
+		connections.clear();
+		byInsulator.clear();
+		byChunk.clear();
+	}
+
+	public static void forEachChunk(WireConnection connection, LongConsumer consumer) {
+		forEachChunk(connection.getStartBlockPos(), connection.getEndBlockPos(), consumer);
+	}
+
+	public static void forEachChunk(BlockPos start, BlockPos end, LongConsumer consumer) {
+		// Grid walk over the span's horizontal projection between block centres;
+		// when it passes exactly through a chunk corner both side chunks are
+		// visited so the index stays conservative.
+		double x = start.getX() + 0.5;
+		double z = start.getZ() + 0.5;
+		double dx = end.getX() + 0.5 - x;
+		double dz = end.getZ() + 0.5 - z;
+		int chunkX = start.getX() >> 4;
+		int chunkZ = start.getZ() >> 4;
+		int endChunkX = end.getX() >> 4;
+		int endChunkZ = end.getZ() >> 4;
+		int stepX = Integer.signum(endChunkX - chunkX);
+		int stepZ = Integer.signum(endChunkZ - chunkZ);
+		double deltaX = stepX != 0 ? 16.0 / Math.abs(dx) : Double.POSITIVE_INFINITY;
+		double deltaZ = stepZ != 0 ? 16.0 / Math.abs(dz) : Double.POSITIVE_INFINITY;
+		double nextX = stepX > 0 ? ((chunkX + 1) * 16 - x) / dx : stepX < 0 ? (chunkX * 16 - x) / dx : Double.POSITIVE_INFINITY;
+		double nextZ = stepZ > 0 ? ((chunkZ + 1) * 16 - z) / dz : stepZ < 0 ? (chunkZ * 16 - z) / dz : Double.POSITIVE_INFINITY;
+
+		consumer.accept(ChunkPos.asLong(chunkX, chunkZ));
+		while (chunkX != endChunkX || chunkZ != endChunkZ) {
+			if (Math.abs(nextX - nextZ) < 1.0E-9) {
+				consumer.accept(ChunkPos.asLong(chunkX + stepX, chunkZ));
+				consumer.accept(ChunkPos.asLong(chunkX, chunkZ + stepZ));
+				chunkX += stepX;
+				chunkZ += stepZ;
+				nextX += deltaX;
+				nextZ += deltaZ;
+			} else if (nextX < nextZ) {
+				chunkX += stepX;
+				nextX += deltaX;
+			} else {
+				chunkZ += stepZ;
+				nextZ += deltaZ;
+			}
+
+			consumer.accept(ChunkPos.asLong(chunkX, chunkZ));
+		}
+	}
+
+	private static void index(Int2ObjectOpenHashMap<LongOpenHashSet> index, int bucket, long key) {
+		index.computeIfAbsent(bucket, id -> new LongOpenHashSet(4)).add(key);
+	}
+
+	private static void unindex(Int2ObjectOpenHashMap<LongOpenHashSet> index, int bucket, long key) {
+		LongOpenHashSet keys = index.get(bucket);
+		if (keys != null && keys.remove(key) && keys.isEmpty()) {
+			index.remove(bucket);
+		}
+	}
+
+	private static void index(Long2ObjectOpenHashMap<LongOpenHashSet> index, long bucket, long key) {
+		index.computeIfAbsent(bucket, id -> new LongOpenHashSet(4)).add(key);
+	}
+
+	private static void unindex(Long2ObjectOpenHashMap<LongOpenHashSet> index, long bucket, long key) {
+		LongOpenHashSet keys = index.get(bucket);
+		if (keys != null && keys.remove(key) && keys.isEmpty()) {
+			index.remove(bucket);
+		}
+	}
+}
@@ -4,20 +4,31 @@ import com.dooji.electricity.block.ElectricCabinBlockEntity;
 import com.dooji.electricity.block.PowerBoxBlockEntity;
 import com.dooji.electricity.block.UtilityPoleBlockEntity;
 import com.dooji.electricity.block.WindTurbineBlockEntity;
+import com.dooji.electricity.main.AsyncSavedData;
+import com.dooji.electricity.main.ElectricityServerConfig;
 import com.dooji.electricity.main.network.ElectricityNetworking;
+import com.dooji.electricity.main.network.payloads.ChunkWiresPayload;
 import com.dooji.electricity.main.network.payloads.CreateWireFromInsulatorsPayload;
-import com.dooji.electricity.main.network.payloads.SyncWiresPayload;
 import com.dooji.electricity.main.network.payloads.WireConnectionPayload;
+import com.dooji.electricity.main.power.PowerNetwork;
 import com.dooji.electricity.wire.InsulatorPartHelper;
+import it.unimi.dsi.fastutil.ints.IntCollection;
+import it.unimi.dsi.fastutil.ints.IntIterable;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import javax.annotation.Nonnull;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.UnaryOperator;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -28,12 +39,15 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.world.phys.Vec3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class WireManager {
+	private static final Logger LOGGER = LoggerFactory.getLogger("electricity");
 	private static final Map<ServerLevel, WireSavedData> SAVED_DATA_CACHE = new ConcurrentHashMap<>();
 	private static final double MAX_WIRE_DISTANCE = 64.0;
 	private static final double MAX_WIRE_DISTANCE_SQ = MAX_WIRE_DISTANCE * MAX_WIRE_DISTANCE;
@@ -89,8 +103,8 @@ public class WireManager {
 			return;
 		}
 
-		String startPowerType = sanitizePowerType(startEntity, startInsulator.get().partName(), payload.startPowerType());
-		String endPowerType = sanitizePowerType(endEntity, endInsulator.get().partName(), payload.endPowerType());
+		PowerType startPowerType = sanitizePowerType(startEntity, startInsulator.get().partName(), payload.startPowerType());
+		PowerType endPowerType = sanitizePowerType(endEntity, endInsulator.get().partName(), payload.endPowerType());
 
 		WireConnection connection = new WireConnection(startInsulator.get().insulatorId(), endInsulator.get().insulatorId(), "default", payload.startBlockPos(), payload.endBlockPos(),
 				startInsulator.get().blockType(), endInsulator.get().blockType(), startPowerType, endPowerType);
@@ -104,11 +118,12 @@ public class WireManager {
 		WireSavedData savedData = getOrCreateSavedData(level);
 		savedData.addWireConnection(connection);
 		savedData.setDirty();
+		PowerNetwork.wireAdded(level, connection);
 	}
 
 	private void broadcastWireCreation(ServerLevel level, WireConnection connection) {
 		WireConnectionPayload payload = new WireConnectionPayload(connection, true);
-		ElectricityNetworking.broadcastToAllClients(level, payload);
+		ElectricityNetworking.sendToPlayersTrackingWire(level, connection, payload);
 	}
 
 	private boolean validateEndpoint(ServerPlayer player, ServerLevel level, BlockPos pos) {
@@ -133,24 +148,28 @@ public class WireManager {
 		}
 	}
 
-	private String sanitizePowerType(BlockEntity entity, String partName, String reported) {
-		String expected = InsulatorPartHelper.determinePowerType(entity, partName);
-		if ("bidirectional".equals(expected)) return "bidirectional";
-		if ("output".equals(expected) || "input".equals(expected)) return expected;
-		return reported != null ? reported : "bidirectional";
+	private PowerType sanitizePowerType(BlockEntity entity, String partName, PowerType reported) {
+		PowerType expected = InsulatorPartHelper.determinePowerType(entity, partName);
+		if (expected != PowerType.UNKNOWN) return expected;
+		return reported != null && reported != PowerType.UNKNOWN ? reported : PowerType.BIDIRECTIONAL;
 	}
 
 	private void broadcastWireRemoval(ServerLevel level, WireConnection connection) {
 		WireConnectionPayload payload = new WireConnectionPayload(connection, false);
-		ElectricityNetworking.broadcastToAllClients(level, payload);
+		ElectricityNetworking.sendToPlayersTrackingWire(level, connection, payload);
 	}
 
-	public void sendAllWiresToPlayer(ServerPlayer player) {
-		if (player.level() instanceof ServerLevel serverLevel) {
-			WireSavedData savedData = getOrCreateSavedData(serverLevel);
-			SyncWiresPayload payload = new SyncWiresPayload(new ArrayList<>(savedData.getAllWireConnections()));
-			ElectricityNetworking.sendToClient(player, payload);
-		}
+	public void onChunkWatched(ServerPlayer player, ServerLevel level, ChunkPos chunk) {
+		List<WireConnection> connections = getOrCreateSavedData(level).getWiresInRegion(chunk.x, chunk.z, chunk.x, chunk.z);
+		if (connections.isEmpty()) return;
+
+		ElectricityNetworking.sendToClient(player, new ChunkWiresPayload(level.dimension(), chunk, true, connections));
+	}
+
+	public void onChunkUnwatched(ServerPlayer player, ServerLevel level, ChunkPos chunk) {
+		if (getOrCreateSavedData(level).getConnectionKeysInChunk(chunk.toLong()).isEmpty()) return;
+
+		ElectricityNetworking.sendToClient(player, new ChunkWiresPayload(level.dimension(), chunk, false, List.of()));
 	}
 
 	public void loadFromWorld(ServerLevel level) {
@@ -166,34 +185,56 @@ public class WireManager {
 		return getOrCreateSavedData(level);
 	}
 
+	public List<WireConnection> getWiresInChunk(ServerLevel level, ChunkPos chunk) {
+		return getOrCreateSavedData(level).getWiresInRegion(chunk.x, chunk.z, chunk.x, chunk.z);
+	}
+
+	public List<WireConnection> getWiresInRegion(ServerLevel level, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		return getOrCreateSavedData(level).getWiresInRegion(minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+	}
+
 	public void removeConnectionsForInsulators(ServerLevel level, int[] insulatorIds) {
 		if (insulatorIds == null || insulatorIds.length == 0) return;
 
-		Set<Integer> ids = new HashSet<>();
+		IntOpenHashSet ids = new IntOpenHashSet(insulatorIds.length);
 		for (int id : insulatorIds) {
 			if (id >= 0) {
 				ids.add(id);
 			}
 		}
 
-		if (ids.isEmpty()) return;
+		removeConnectionsForInsulators(level, ids);
+	}
+
+	public void removeConnectionsForInsulators(ServerLevel level, IntCollection insulatorIds) {
+		if (insulatorIds.isEmpty()) return;
 
 		WireSavedData savedData = getOrCreateSavedData(level);
-		List<WireConnection> removedConnections = savedData.removeConnectionsForInsulators(ids);
+		List<WireConnection> removedConnections = savedData.removeConnectionsForInsulators(insulatorIds);
 		if (removedConnections.isEmpty()) return;
 
 		savedData.setDirty();
 		for (WireConnection connection : removedConnections) {
+			PowerNetwork.wireRemoved(level, connection);
 			broadcastWireRemoval(level, connection);
 		}
 	}
 
 	private WireSavedData getOrCreateSavedData(ServerLevel level) {
-		return SAVED_DATA_CACHE.computeIfAbsent(level, l -> l.getDataStorage().computeIfAbsent(WireSavedData::new, WireSavedData::new, "electricity_wires"));
+		return SAVED_DATA_CACHE.computeIfAbsent(level, l -> {
+			WireSavedData savedData = l.getDataStorage().computeIfAbsent(WireSavedData::new, WireSavedData::new, "electricity_wires");
+			savedData.attachStorage(l);
+			return savedData;
+		});
 	}
 
-	public static class WireSavedData extends SavedData {
-		private final Map<String, WireConnection> wireConnections = new ConcurrentHashMap<>();
+	public static class WireSavedData extends AsyncSavedData {
+		private final WireConnectionMap wireConnections = new WireConnectionMap();
+		private final LongOpenHashSet dirtyRegions = new LongOpenHashSet();
+		private final Queue<Long> failedRegions = new ConcurrentLinkedQueue<>();
+		private WireRegionStorage regionStorage;
+		private boolean storedInRegions = false;
+		private boolean attached = false;
 
 		public WireSavedData() {
 		}
@@ -202,29 +243,65 @@ public class WireManager {
 			load(tag);
 		}
 
+		private void attachStorage(ServerLevel level) {
+			if (attached) return;
+			attached = true;
+
+			WireRegionStorage storage = WireRegionStorage.forLevel(level);
+			if (storedInRegions) {
+				for (WireConnection connection : storage.readAll(ElectricityServerConfig.mmapWireRegions())) {
+					wireConnections.put(connection);
+				}
+			}
+
+			if (ElectricityServerConfig.wireStorage() == WireStorageMode.REGION) {
+				regionStorage = storage;
+				if (!storedInRegions) {
+					storage.clear();
+					for (WireConnection connection : wireConnections.values()) {
+						dirtyRegions.add(WireRegionStorage.regionKey(connection));
+					}
+					setDirty();
+				}
+			} else if (storedInRegions) {
+				setDirty();
+			}
+		}
+
 		public void addWireConnection(WireConnection connection) {
-			String key = connection.getStartInsulatorId() + "_" + connection.getEndInsulatorId();
-			wireConnections.put(key, connection);
+			WireConnection previous = wireConnections.put(connection);
+			markRegionDirty(previous);
+			markRegionDirty(connection);
 		}
 
 		public void removeWireConnection(WireConnection connection) {
-			String key = connection.getStartInsulatorId() + "_" + connection.getEndInsulatorId();
-			wireConnections.remove(key);
+			markRegionDirty(wireConnections.remove(connection));
 		}
 
-		public List<WireConnection> removeConnectionsForInsulators(Set<Integer> insulatorIds) {
-			List<WireConnection> removed = new ArrayList<>();
-			Iterator<WireConnection> iterator = wireConnections.values().iterator();
+		public List<WireConnection> removeConnectionsForInsulators(IntIterable insulatorIds) {
+			List<WireConnection> removed = wireConnections.removeForInsulators(insulatorIds);
+			for (WireConnection connection : removed) {
+				markRegionDirty(connection);
+			}
+			return removed;
+		}
 
-			while (iterator.hasNext()) {
-				WireConnection connection = iterator.next();
-				if (insulatorIds.contains(connection.getStartInsulatorId()) || insulatorIds.contains(connection.getEndInsulatorId())) {
-					iterator.remove();
-					removed.add(connection);
-				}
+		private void markRegionDirty(WireConnection connection) {
+			if (regionStorage != null && connection != null) {
+				dirtyRegions.add(WireRegionStorage.regionKey(connection));
 			}
+		}
 
-			return removed;
+		public LongSet getConnectionKeys(int insulatorId) {
+			return wireConnections.keysForInsulator(insulatorId);
+		}
+
+		public LongSet getConnectionKeysInChunk(long chunkKey) {
+			return wireConnections.keysInChunk(chunkKey);
+		}
+
+		public List<WireConnection> getWiresInRegion(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+			return wireConnections.inRegion(minChunkX, minChunkZ, maxChunkX, maxChunkZ);
 		}
 
 		public Collection<WireConnection> getAllWireConnections() {
@@ -232,26 +309,67 @@ public class WireManager {
 		}
 
 		@Override
-		public CompoundTag save(@Nonnull CompoundTag tag) {
-			ListTag wiresList = new ListTag();
-			for (WireConnection connection : wireConnections.values()) {
-				CompoundTag wireTag = new CompoundTag();
-				wireTag.putInt("startInsulatorId", connection.getStartInsulatorId());
-				wireTag.putInt("endInsulatorId", connection.getEndInsulatorId());
-				wireTag.putString("wireType", connection.getWireType());
-				wireTag.putLong("startBlockPos", connection.getStartBlockPos().asLong());
-				wireTag.putLong("endBlockPos", connection.getEndBlockPos().asLong());
-				wireTag.putString("startBlockType", connection.getStartBlockType());
-				wireTag.putString("endBlockType", connection.getEndBlockType());
-				wireTag.putString("startPowerType", connection.getStartPowerType());
-				wireTag.putString("endPowerType", connection.getEndPowerType());
-				wiresList.add(wireTag);
+		protected UnaryOperator<CompoundTag> snapshot() {
+			if (regionStorage != null) {
+				Long regionKey;
+				while ((regionKey = failedRegions.poll()) != null) {
+					dirtyRegions.add(regionKey.longValue());
+				}
+
+				Long2ObjectOpenHashMap<List<WireConnection>> regions = new Long2ObjectOpenHashMap<>(dirtyRegions.size());
+				for (LongIterator iterator = dirtyRegions.iterator(); iterator.hasNext();) {
+					long region = iterator.nextLong();
+					int minChunkX = ChunkPos.getX(region) << 5;
+					int minChunkZ = ChunkPos.getZ(region) << 5;
+					List<WireConnection> connections = wireConnections.inRegion(minChunkX, minChunkZ, minChunkX + 31, minChunkZ + 31);
+					connections.removeIf(connection -> !WireRegionStorage.inRegion(connection, region));
+					regions.put(region, connections);
+				}
+				dirtyRegions.clear();
+
+				WireRegionStorage storage = regionStorage;
+				return tag -> {
+					saveRegions(storage, regions);
+					tag.putString("storage", "region");
+					return tag;
+				};
+			}
+
+			List<WireConnection> connections = new ArrayList<>(wireConnections.values());
+			return tag -> {
+				ListTag wiresList = new ListTag();
+				for (WireConnection connection : connections) {
+					CompoundTag wireTag = new CompoundTag();
+					wireTag.putInt("startInsulatorId", connection.getStartInsulatorId());
+					wireTag.putInt("endInsulatorId", connection.getEndInsulatorId());
+					wireTag.putString("wireType", connection.getWireType());
+					wireTag.putLong("startBlockPos", connection.getStartBlockPos().asLong());
+					wireTag.putLong("endBlockPos", connection.getEndBlockPos().asLong());
+					wireTag.putString("startBlockType", connection.getStartBlockType().getSerializedName());
+					wireTag.putString("endBlockType", connection.getEndBlockType().getSerializedName());
+					wireTag.putString("startPowerType", connection.getStartPowerType().getSerializedName());
+					wireTag.putString("endPowerType", connection.getEndPowerType().getSerializedName());
+					wiresList.add(wireTag);
+				}
+				tag.put("wires", wiresList);
+				return tag;
+			};
+		}
+
+		private void saveRegions(WireRegionStorage storage, Long2ObjectMap<List<WireConnection>> regions) {
+			for (Long2ObjectMap.Entry<List<WireConnection>> entry : regions.long2ObjectEntrySet()) {
+				long region = entry.getLongKey();
+				try {
+					storage.writeRegion(region, entry.getValue());
+				} catch (IOException e) {
+					failedRegions.add(region);
+					LOGGER.error("Failed to save wire region {}, {}", ChunkPos.getX(region), ChunkPos.getZ(region), e);
+				}
 			}
-			tag.put("wires", wiresList);
-			return tag;
 		}
 
 		private void load(CompoundTag tag) {
+			storedInRegions = "region".equals(tag.getString("storage"));
 			wireConnections.clear();
 			ListTag wiresList = tag.getList("wires", Tag.TAG_COMPOUND);
 
@@ -263,14 +381,13 @@ public class WireManager {
 
 				BlockPos startBlockPos = BlockPos.of(wireTag.getLong("startBlockPos"));
 				BlockPos endBlockPos = BlockPos.of(wireTag.getLong("endBlockPos"));
-				String startBlockType = wireTag.getString("startBlockType");
-				String endBlockType = wireTag.getString("endBlockType");
-				String startPowerType = wireTag.getString("startPowerType");
-				String endPowerType = wireTag.getString("endPowerType");
+				BlockType startBlockType = BlockType.fromName(wireTag.getString("startBlockType"));
+				BlockType endBlockType = BlockType.fromName(wireTag.getString("endBlockType"));
+				PowerType startPowerType = PowerType.fromName(wireTag.getString("startPowerType"));
+				PowerType endPowerType = PowerType.fromName(wireTag.getString("endPowerType"));
 
 				WireConnection connection = new WireConnection(startInsulatorId, endInsulatorId, wireType, startBlockPos, endBlockPos, startBlockType, endBlockType, startPowerType, endPowerType);
-				String key = startInsulatorId + "_" + endInsulatorId;
-				wireConnections.put(key, connection);
+				wireConnections.put(connection);
 			}
 		}
 	}
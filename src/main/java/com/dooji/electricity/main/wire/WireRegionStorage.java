@@ -0,0 +1,151 @@
+package com.dooji.electricity.main.wire;
+
+import com.dooji.electricity.main.network.WireCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.internal.PlatformDependent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores a level's wires in one shard file per 32x32 chunk region, keyed by the
+ * chunk of each wire's start point. Only regions touched since the last save
+ * are rewritten, so an autosave costs as much as the edits rather than the
+ * whole network. Shards use the network wire codec behind a format version,
+ * so a codec change cannot silently misread old files. They can be memory
+ * mapped when read at startup; the mapping is released as soon as the shard is
+ * decoded so the file can be replaced on the next save.
+ */
+final class WireRegionStorage {
+	private static final Logger LOGGER = LoggerFactory.getLogger("electricity");
+	private static final int MAGIC = 0x45575231;
+	private static final int FORMAT_VERSION = 1;
+	private static final String EXTENSION = ".ewr";
+	private final Path directory;
+
+	private WireRegionStorage(Path directory) {
+		this.directory = directory;
+	}
+
+	static WireRegionStorage forLevel(ServerLevel level) {
+		Path root = level.getServer().getWorldPath(LevelResource.ROOT);
+		return new WireRegionStorage(DimensionType.getStorageFolder(level.dimension(), root).resolve("data").resolve("electricity_wires"));
+	}
+
+	static long regionKey(WireConnection connection) {
+		return ChunkPos.asLong(connection.getStartBlockPos().getX() >> 9, connection.getStartBlockPos().getZ() >> 9);
+	}
+
+	static boolean inRegion(WireConnection connection, long region) {
+		return regionKey(connection) == region;
+	}
+
+	boolean exists() {
+		return Files.isDirectory(directory);
+	}
+
+	List<WireConnection> readAll(boolean mapped) {
+		List<WireConnection> connections = new ArrayList<>();
+		if (!exists()) return connections;
+
+		try (DirectoryStream<Path> shards = Files.newDirectoryStream(directory, "r.*" + EXTENSION)) {
+			for (Path shard : shards) {
+				try {
+					connections.addAll(readShard(shard, mapped));
+				} catch (IOException | RuntimeException e) {
+					LOGGER.error("Failed to read wire shard {}", shard, e);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.error("Failed to list wire shards in {}", directory, e);
+		}
+
+		return connections;
+	}
+
+	void clear() {
+		if (!exists()) return;
+
+		try (DirectoryStream<Path> shards = Files.newDirectoryStream(directory, "r.*" + EXTENSION)) {
+			for (Path shard : shards) {
+				Files.deleteIfExists(shard);
+			}
+		} catch (IOException e) {
+			LOGGER.error("Failed to clear wire shards in {}", directory, e);
+		}
+	}
+
+	void writeRegion(long region, List<WireConnection> connections) throws IOException {
+		Path shard = shardPath(region);
+		if (connections.isEmpty()) {
+			Files.deleteIfExists(shard);
+			return;
+		}
+
+		FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+		try {
+			buf.writeInt(MAGIC);
+			buf.writeVarInt(FORMAT_VERSION);
+			WireCodec.writeConnections(buf, connections);
+
+			Files.createDirectories(directory);
+			Path temp = shard.resolveSibling(shard.getFileName() + ".tmp");
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				ByteBuffer bytes = buf.nioBuffer();
+				while (bytes.hasRemaining()) {
+					channel.write(bytes);
+				}
+			}
+			Files.move(temp, shard, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			buf.release();
+		}
+	}
+
+	private List<WireConnection> readShard(Path shard, boolean mapped) throws IOException {
+		if (!mapped) return decode(Unpooled.wrappedBuffer(Files.readAllBytes(shard)));
+
+		MappedByteBuffer mapping;
+		try (FileChannel channel = FileChannel.open(shard, StandardOpenOption.READ)) {
+			mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		// A wrapped mapping is not unmapped on release and would keep the
+		// shard locked on Windows until collected, so unmap it explicitly
+		// once every connection has been decoded onto the heap.
+		try {
+			return decode(Unpooled.wrappedBuffer(mapping));
+		} finally {
+			PlatformDependent.freeDirectBuffer(mapping);
+		}
+	}
+
+	private static List<WireConnection> decode(ByteBuf bytes) throws IOException {
+		FriendlyByteBuf buf = new FriendlyByteBuf(bytes);
+		if (buf.readInt() != MAGIC) throw new IOException("Not a wire shard");
+
+		int version = buf.readVarInt();
+		if (version != FORMAT_VERSION) throw new IOException("Unsupported wire shard version " + version);
+		return WireCodec.readConnections(buf);
+	}
+
+	private Path shardPath(long region) {
+		return directory.resolve("r." + ChunkPos.getX(region) + "." + ChunkPos.getZ(region) + EXTENSION);
+	}
+}
@@ -0,0 +1,5 @@
+package com.dooji.electricity.main.wire;
+
+public enum WireStorageMode {
+	SAVED_DATA, REGION
+}
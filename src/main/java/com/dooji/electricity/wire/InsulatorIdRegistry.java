@@ -1,42 +1,183 @@
 package com.dooji.electricity.wire;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import com.dooji.electricity.main.Electricity;
+import com.dooji.electricity.main.wire.WireConnection;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import java.util.BitSet;
+import javax.annotation.Nonnull;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public final class InsulatorIdRegistry {
-	private static final AtomicInteger NEXT_ID = new AtomicInteger(1);
-	private static final ConcurrentHashMap.KeySetView<Integer, Boolean> CLAIMED_IDS = ConcurrentHashMap.newKeySet();
+/**
+ * Per-level insulator id allocator. Claimed ids live in a bitset persisted
+ * with the level together with the high-water mark, so an id held by a block
+ * in an unloaded chunk is never handed out again. New ids are taken from the
+ * high-water mark; released ids form the free list and are only reused once
+ * the mark reaches the end of the id space. Ids are only released when their
+ * block is actually removed, not when its chunk unloads. Each claimed id
+ * remembers the block position that owns it, so a second block presenting
+ * the same id is given a fresh one instead of silently sharing it.
+ */
+public final class InsulatorIdRegistry extends SavedData {
+	private static final Logger LOGGER = LoggerFactory.getLogger("electricity");
+	private static final String DATA_NAME = "electricity_insulator_ids";
+	private static final long UNKNOWN_OWNER = Long.MIN_VALUE;
+	private final BitSet claimed = new BitSet();
+	private final Int2LongOpenHashMap owners = new Int2LongOpenHashMap();
+	private int highWaterMark = 1;
 
 	private InsulatorIdRegistry() {
+		owners.defaultReturnValue(UNKNOWN_OWNER);
 	}
 
-	public static int claimId() {
-		int candidate;
-		do {
-			candidate = NEXT_ID.getAndIncrement();
-		} while (!CLAIMED_IDS.add(candidate));
-
-		return candidate;
+	public static InsulatorIdRegistry get(ServerLevel level) {
+		return level.getDataStorage().computeIfAbsent(InsulatorIdRegistry::load, () -> create(level), DATA_NAME);
 	}
 
-	public static void registerExistingId(int id) {
-		if (id <= 0) return;
+	public static void assignIds(BlockEntity blockEntity, int[] ids) {
+		if (!(blockEntity.getLevel() instanceof ServerLevel serverLevel) || ids == null) return;
+
+		InsulatorIdRegistry registry = get(serverLevel);
+		long owner = blockEntity.getBlockPos().asLong();
+		boolean changed = false;
+		for (int i = 0; i < ids.length; i++) {
+			int id = ids[i];
+			if (id == 0) {
+				ids[i] = registry.claimId(owner);
+				changed = true;
+			} else if (!registry.registerExistingId(id, owner)) {
+				ids[i] = registry.claimId(owner);
+				changed = true;
+				LOGGER.warn("Insulator id {} at {} is already owned by {}, reassigned to {}", id, blockEntity.getBlockPos(), BlockPos.of(registry.owners.get(id)), ids[i]);
+			}
+		}
 
-		CLAIMED_IDS.add(id);
-		NEXT_ID.accumulateAndGet(id + 1, Math::max);
+		// Ids are assigned while the chunk is still being attached, where
+		// marking it unsaved is lost, so persist the new ids on the next task.
+		if (changed) {
+			serverLevel.getServer().execute(() -> {
+				if (!blockEntity.isRemoved()) blockEntity.setChanged();
+			});
+		}
 	}
 
-	public static void releaseId(int id) {
-		if (id > 0) {
-			CLAIMED_IDS.remove(id);
+	public static void reassignIds(BlockEntity blockEntity, int[] previousIds, int[] ids) {
+		if (!(blockEntity.getLevel() instanceof ServerLevel serverLevel) || ids == null) return;
+
+		if (previousIds != null) {
+			InsulatorIdRegistry registry = get(serverLevel);
+			long owner = blockEntity.getBlockPos().asLong();
+			for (int previousId : previousIds) {
+				if (!contains(ids, previousId)) registry.releaseId(previousId, owner);
+			}
 		}
+
+		assignIds(blockEntity, ids);
 	}
 
-	public static void releaseIds(int[] ids) {
-		if (ids == null) return;
+	public static void releaseIds(BlockEntity blockEntity, int[] ids) {
+		if (!(blockEntity.getLevel() instanceof ServerLevel serverLevel) || ids == null) return;
 
+		InsulatorIdRegistry registry = get(serverLevel);
+		long owner = blockEntity.getBlockPos().asLong();
 		for (int id : ids) {
-			releaseId(id);
+			registry.releaseId(id, owner);
+		}
+	}
+
+	private static boolean contains(int[] ids, int id) {
+		for (int candidate : ids) {
+			if (candidate == id) return true;
+		}
+
+		return false;
+	}
+
+	private synchronized int claimId(long owner) {
+		// Fresh ids come from above the high-water mark, so a released id is
+		// not handed out again until the id space above it is exhausted.
+		int id = highWaterMark < Integer.MAX_VALUE ? highWaterMark : claimed.nextClearBit(1);
+		claimed.set(id);
+		owners.put(id, owner);
+		highWaterMark = Math.max(highWaterMark, id == Integer.MAX_VALUE ? id : id + 1);
+		setDirty();
+		return id;
+	}
+
+	private synchronized boolean registerExistingId(int id, long owner) {
+		if (id <= 0) return true;
+
+		if (claimed.get(id)) {
+			long current = owners.get(id);
+			if (current == owner) return true;
+			if (current != UNKNOWN_OWNER) return false;
 		}
+
+		claimed.set(id);
+		owners.put(id, owner);
+		highWaterMark = Math.max(highWaterMark, id + 1);
+		setDirty();
+		return true;
+	}
+
+	private synchronized void releaseId(int id, long owner) {
+		if (id <= 0 || !claimed.get(id)) return;
+
+		long current = owners.get(id);
+		if (current != owner && current != UNKNOWN_OWNER) return;
+
+		claimed.clear(id);
+		owners.remove(id);
+		setDirty();
+	}
+
+	@Override
+	public synchronized CompoundTag save(@Nonnull CompoundTag tag) {
+		tag.putInt("highWaterMark", highWaterMark);
+		tag.putLongArray("claimed", claimed.toLongArray());
+
+		int[] ownedIds = new int[owners.size()];
+		long[] ownerPositions = new long[owners.size()];
+		int index = 0;
+		for (Int2LongMap.Entry entry : owners.int2LongEntrySet()) {
+			ownedIds[index] = entry.getIntKey();
+			ownerPositions[index] = entry.getLongValue();
+			index++;
+		}
+		tag.putIntArray("ownedIds", ownedIds);
+		tag.putLongArray("owners", ownerPositions);
+		return tag;
+	}
+
+	private static InsulatorIdRegistry load(CompoundTag tag) {
+		InsulatorIdRegistry registry = new InsulatorIdRegistry();
+		registry.claimed.or(BitSet.valueOf(tag.getLongArray("claimed")));
+		int[] ownedIds = tag.getIntArray("ownedIds");
+		long[] ownerPositions = tag.getLongArray("owners");
+		for (int i = 0; i < Math.min(ownedIds.length, ownerPositions.length); i++) {
+			registry.owners.put(ownedIds[i], ownerPositions[i]);
+		}
+		registry.highWaterMark = Math.max(tag.getInt("highWaterMark"), registry.claimed.length());
+		registry.highWaterMark = Math.max(registry.highWaterMark, 1);
+		return registry;
+	}
+
+	private static InsulatorIdRegistry create(ServerLevel level) {
+		// Levels saved before the registry existed only know their ids through
+		// loaded blocks, so seed it with every id a stored wire still references.
+		InsulatorIdRegistry registry = new InsulatorIdRegistry();
+		for (WireConnection connection : Electricity.wireManager.getSavedData(level).getAllWireConnections()) {
+			registry.registerExistingId(connection.getStartInsulatorId(), connection.getStartBlockPos().asLong());
+			registry.registerExistingId(connection.getEndInsulatorId(), connection.getEndBlockPos().asLong());
+		}
+
+		registry.setDirty();
+		return registry;
 	}
 }
@@ -4,6 +4,8 @@ import com.dooji.electricity.block.ElectricCabinBlockEntity;
 import com.dooji.electricity.block.PowerBoxBlockEntity;
 import com.dooji.electricity.block.UtilityPoleBlockEntity;
 import com.dooji.electricity.block.WindTurbineBlockEntity;
+import com.dooji.electricity.main.wire.BlockType;
+import com.dooji.electricity.main.wire.PowerType;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Objects;
@@ -12,11 +14,6 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.phys.Vec3;
 
 public final class InsulatorPartHelper {
-	public static final String TYPE_WIND_TURBINE = "wind_turbine";
-	public static final String TYPE_ELECTRIC_CABIN = "electric_cabin";
-	public static final String TYPE_UTILITY_POLE = "utility_pole";
-	public static final String TYPE_POWER_BOX = "power_box";
-
 	private static final String[] UTILITY_POLE_PARTS = {"insulator_1_Material.023", "insulator_2_Material.009", "insulator_3_Material.016", "insulator_4_Material.001", "insulator_5_Material.051",
 			"insulator_6_Material.037", "insulator_7_Material.030", "insulator_8_Material.058"};
 
@@ -31,13 +28,13 @@ public final class InsulatorPartHelper {
 
 	public static Optional<Insulator> resolve(BlockEntity entity, String partName) {
 		if (entity instanceof UtilityPoleBlockEntity pole) {
-			return mapFromArray(TYPE_UTILITY_POLE, partName, UTILITY_POLE_PARTS, pole.getInsulatorIds(), pole::getWirePosition);
+			return mapFromArray(BlockType.UTILITY_POLE, partName, UTILITY_POLE_PARTS, pole.getInsulatorIds(), pole::getWirePosition);
 		} else if (entity instanceof ElectricCabinBlockEntity cabin) {
-			return mapFromArray(TYPE_ELECTRIC_CABIN, partName, ELECTRIC_CABIN_PARTS, cabin.getInsulatorIds(), cabin::getWirePosition);
+			return mapFromArray(BlockType.ELECTRIC_CABIN, partName, ELECTRIC_CABIN_PARTS, cabin.getInsulatorIds(), cabin::getWirePosition);
 		} else if (entity instanceof PowerBoxBlockEntity powerBox) {
-			return mapFromArray(TYPE_POWER_BOX, partName, POWER_BOX_PARTS, powerBox.getInsulatorIds(), powerBox::getWirePosition);
+			return mapFromArray(BlockType.POWER_BOX, partName, POWER_BOX_PARTS, powerBox.getInsulatorIds(), powerBox::getWirePosition);
 		} else if (entity instanceof WindTurbineBlockEntity turbine) {
-			return mapFromArray(TYPE_WIND_TURBINE, partName, WIND_TURBINE_PARTS, turbine.getInsulatorIds(), turbine::getWirePosition);
+			return mapFromArray(BlockType.WIND_TURBINE, partName, WIND_TURBINE_PARTS, turbine.getInsulatorIds(), turbine::getWirePosition);
 		}
 
 		return Optional.empty();
@@ -45,19 +42,19 @@ public final class InsulatorPartHelper {
 
 	public static Optional<Insulator> resolve(BlockEntity entity, int insulatorId) {
 		if (entity instanceof UtilityPoleBlockEntity pole) {
-			return mapFromId(TYPE_UTILITY_POLE, insulatorId, UTILITY_POLE_PARTS, pole.getInsulatorIds(), pole::getWirePosition);
+			return mapFromId(BlockType.UTILITY_POLE, insulatorId, UTILITY_POLE_PARTS, pole.getInsulatorIds(), pole::getWirePosition);
 		} else if (entity instanceof ElectricCabinBlockEntity cabin) {
-			return mapFromId(TYPE_ELECTRIC_CABIN, insulatorId, ELECTRIC_CABIN_PARTS, cabin.getInsulatorIds(), cabin::getWirePosition);
+			return mapFromId(BlockType.ELECTRIC_CABIN, insulatorId, ELECTRIC_CABIN_PARTS, cabin.getInsulatorIds(), cabin::getWirePosition);
 		} else if (entity instanceof PowerBoxBlockEntity powerBox) {
-			return mapFromId(TYPE_POWER_BOX, insulatorId, POWER_BOX_PARTS, powerBox.getInsulatorIds(), powerBox::getWirePosition);
+			return mapFromId(BlockType.POWER_BOX, insulatorId, POWER_BOX_PARTS, powerBox.getInsulatorIds(), powerBox::getWirePosition);
 		} else if (entity instanceof WindTurbineBlockEntity turbine) {
-			return mapFromId(TYPE_WIND_TURBINE, insulatorId, WIND_TURBINE_PARTS, turbine.getInsulatorIds(), turbine::getWirePosition);
+			return mapFromId(BlockType.WIND_TURBINE, insulatorId, WIND_TURBINE_PARTS, turbine.getInsulatorIds(), turbine::getWirePosition);
 		}
 
 		return Optional.empty();
 	}
 
-	private static Optional<Insulator> mapFromArray(String blockType, String partName, String[] parts, int[] insulatorIds, PositionResolver resolver) {
+	private static Optional<Insulator> mapFromArray(BlockType blockType, String partName, String[] parts, int[] insulatorIds, PositionResolver resolver) {
 		if (partName == null) return Optional.empty();
 
 		int index = indexOf(parts, partName);
@@ -67,7 +64,7 @@ public final class InsulatorPartHelper {
 		return Optional.of(new Insulator(blockType, insulatorId, index, parts[index], resolver.resolve(index)));
 	}
 
-	private static Optional<Insulator> mapFromId(String blockType, int targetId, String[] partNames, int[] insulatorIds, PositionResolver resolver) {
+	private static Optional<Insulator> mapFromId(BlockType blockType, int targetId, String[] partNames, int[] insulatorIds, PositionResolver resolver) {
 		for (int i = 0; i < insulatorIds.length; i++) {
 			if (insulatorIds[i] == targetId && targetId >= 0) {
 				Vec3 anchor = resolver.resolve(i);
@@ -87,35 +84,49 @@ public final class InsulatorPartHelper {
 		return -1;
 	}
 
-	public static String determinePowerType(BlockEntity entity, String partName) {
-		if (entity instanceof WindTurbineBlockEntity) return "output";
+	public static PowerType determinePowerType(BlockEntity entity, String partName) {
+		if (entity instanceof WindTurbineBlockEntity) return PowerType.OUTPUT;
 		if (entity instanceof ElectricCabinBlockEntity) {
-			if (partName != null && partName.toLowerCase(Locale.ROOT).contains("output")) return "output";
-			if (partName != null && partName.toLowerCase(Locale.ROOT).contains("input")) return "input";
+			if (partName != null && partName.toLowerCase(Locale.ROOT).contains("output")) return PowerType.OUTPUT;
+			if (partName != null && partName.toLowerCase(Locale.ROOT).contains("input")) return PowerType.INPUT;
 		}
 
-		return "bidirectional";
+		return PowerType.BIDIRECTIONAL;
 	}
 
-	public static String getBlockType(BlockEntity entity) {
+	public static BlockType getBlockType(BlockEntity entity) {
 		if (entity instanceof WindTurbineBlockEntity) {
-			return TYPE_WIND_TURBINE;
+			return BlockType.WIND_TURBINE;
 		} else if (entity instanceof ElectricCabinBlockEntity) {
-			return TYPE_ELECTRIC_CABIN;
+			return BlockType.ELECTRIC_CABIN;
 		} else if (entity instanceof UtilityPoleBlockEntity) {
-			return TYPE_UTILITY_POLE;
+			return BlockType.UTILITY_POLE;
 		} else if (entity instanceof PowerBoxBlockEntity) {
-			return TYPE_POWER_BOX;
+			return BlockType.POWER_BOX;
+		}
+
+		return BlockType.UNKNOWN;
+	}
+
+	public static int[] getInsulatorIds(BlockEntity entity) {
+		if (entity instanceof UtilityPoleBlockEntity pole) {
+			return pole.getInsulatorIds();
+		} else if (entity instanceof ElectricCabinBlockEntity cabin) {
+			return cabin.getInsulatorIds();
+		} else if (entity instanceof PowerBoxBlockEntity powerBox) {
+			return powerBox.getInsulatorIds();
+		} else if (entity instanceof WindTurbineBlockEntity turbine) {
+			return turbine.getInsulatorIds();
 		}
 
-		return "unknown";
+		return new int[0];
 	}
 
-	public static boolean matchesReportedType(BlockEntity entity, String reportedType) {
-		return Objects.equals(getBlockType(entity), reportedType);
+	public static boolean matchesReportedType(BlockEntity entity, BlockType reportedType) {
+		return getBlockType(entity) == reportedType;
 	}
 
-	public static record Insulator(String blockType, int insulatorId, int index, String partName, Vec3 anchor) {
+	public static record Insulator(BlockType blockType, int insulatorId, int index, String partName, Vec3 anchor) {
 	}
 
 	@FunctionalInterface